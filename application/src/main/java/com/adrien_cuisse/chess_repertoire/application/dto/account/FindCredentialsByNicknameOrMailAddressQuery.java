@@ -0,0 +1,24 @@
+
+package com.adrien_cuisse.chess_repertoire.application.dto.account;
+
+import java.util.Optional;
+
+/**
+ * Answers whether a nickname and a mail address are taken in a single lookup
+ *
+ * @param nickname - the nickname to look for, or null not to look for any
+ * @param mailAddress - the mail address to look for, or null not to look for any
+ */
+public record FindCredentialsByNicknameOrMailAddressQuery(String nickname, String mailAddress)
+{
+    public interface IHandler
+    {
+        Result execute(final FindCredentialsByNicknameOrMailAddressQuery query);
+    }
+
+    /**
+     * @param byNickname - the credentials having the nickname, empty if none or if it wasn't looked for
+     * @param byMailAddress - the credentials having the mail address, empty if none or if it wasn't looked for
+     */
+    public record Result(Optional<CredentialsDTO> byNickname, Optional<CredentialsDTO> byMailAddress) { }
+}
@@ -3,7 +3,15 @@ package com.adrien_cuisse.chess_repertoire.application.dto.position;
 
 import java.util.Optional;
 
-public record FindPositionByUserAndFenQuery(String ownerIdentity, String fen)
+/**
+ * Positions are matched regardless of how they were reached, so that transpositions are found
+ *
+ * @param positionFen - the fen without counters, nor en-passant square which can't be taken, which handlers
+ * 	must compare with the positionFen the position was registered with to tell whether it matches
+ * @param positionKey - a 64 bits hash of positionFen, an index hint only: different positions may share a key,
+ * 	so a position having the same key doesn't match unless it also has the same positionFen
+ */
+public record FindPositionByUserAndFenQuery(String ownerIdentity, String positionFen, long positionKey)
 {
 	public interface IHandler
 	{
@@ -1,11 +1,20 @@
 
 package com.adrien_cuisse.chess_repertoire.application.dto.position;
 
+/**
+ * @param fen - the fen as given, counters included
+ * @param positionFen - the fen without counters, nor en-passant square which can't be taken, to be stored
+ * 	so that FindPositionByUserAndFenQuery handlers can confirm matches on it
+ * @param positionKey - a 64 bits hash of positionFen, to index positions with, but which different positions
+ * 	may share
+ */
 public record RegisterPositionCommand(
 	String identity,
 	String ownerIdentity,
 	String name,
-	String fen
+	String fen,
+	String positionFen,
+	long positionKey
 ) {
 	public interface IHandler
 	{
@@ -0,0 +1,117 @@
+
+package com.adrien_cuisse.chess_repertoire.application.services.filtering;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A set of keys which never forgets one, but may wrongly claim to hold one it was never given,
+ * 	at a rate chosen at construction
+ *
+ * Keys are added and checked concurrently without locking, each bit being set atomically
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Bloom_filter">Bloom filter</a>
+ */
+public final class BloomFilter
+{
+	private static final double LN_2 = Math.log(2);
+
+	private final AtomicLongArray words;
+
+	private final long bitsCount;
+
+	private final int hashesCount;
+
+	/**
+	 * @param expectedInsertions - the count of keys past which the false positive rate gets worse than asked
+	 * @param falsePositiveRate - the rate of unknown keys claimed to be held, once expectedInsertions are added
+	 *
+	 * @throws IllegalArgumentException - if expectedInsertions isn't positive, or if falsePositiveRate isn't in ]0, 1[
+	 */
+	public BloomFilter(final int expectedInsertions, final double falsePositiveRate)
+	{
+		if (expectedInsertions < 1)
+			throw new IllegalArgumentException("Expected insertions must be positive, got " + expectedInsertions);
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+			throw new IllegalArgumentException("False positive rate must be between 0 and 1, got " + falsePositiveRate);
+
+		final double optimalBitsCount = -expectedInsertions * Math.log(falsePositiveRate) / (LN_2 * LN_2);
+
+		this.words = new AtomicLongArray((int) Math.ceil(optimalBitsCount / Long.SIZE));
+		this.bitsCount = (long) this.words.length() * Long.SIZE;
+		this.hashesCount = Math.max(1, (int) Math.round(optimalBitsCount / expectedInsertions * LN_2));
+	}
+
+	public void add(final CharSequence key)
+	{
+		final long hash = hash(key);
+		final long step = stepOf(hash);
+
+		for (int index = 0; index < this.hashesCount; index++)
+		{
+			final long bit = Math.floorMod(hash + index * step, this.bitsCount);
+			final int word = (int) (bit >>> 6);
+			final long mask = 1L << bit;
+
+			// reading first spares a write, and the cache line invalidation going with it, once the bit is set
+			if ((this.words.get(word) & mask) == 0)
+				this.words.getAndAccumulate(word, mask, (current, added) -> current | added);
+		}
+	}
+
+	/**
+	 * @return boolean - false if the key was never added, true if it was or if it collides with added ones
+	 */
+	public boolean mightContain(final CharSequence key)
+	{
+		final long hash = hash(key);
+		final long step = stepOf(hash);
+
+		for (int index = 0; index < this.hashesCount; index++)
+		{
+			final long bit = Math.floorMod(hash + index * step, this.bitsCount);
+			if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return double - the rate of unknown keys currently claimed to be held, estimated from the bits set
+	 */
+	public double expectedFalsePositiveRate()
+	{
+		long setBitsCount = 0;
+		for (int word = 0; word < this.words.length(); word++)
+			setBitsCount += Long.bitCount(this.words.get(word));
+
+		return Math.pow((double) setBitsCount / this.bitsCount, this.hashesCount);
+	}
+
+	/**
+	 * FNV-1a over the characters, then mixed so that close keys spread over the whole filter
+	 */
+	private static long hash(final CharSequence key)
+	{
+		long hash = 0xcbf2_9ce4_8422_2325L;
+		for (int index = 0; index < key.length(); index++)
+		{
+			hash ^= key.charAt(index);
+			hash *= 0x0000_0100_0000_01b3L;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xff51_afd7_ed55_8ccdL;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	/**
+	 * @return long - the distance between 2 bits of a key, derived from its hash so that keys don't share all their bits
+	 */
+	private static long stepOf(final long hash)
+	{
+		final long step = (hash >>> 32) * 0xc4ce_b9fe_1a85_ec53L;
+		return (step ^ (step >>> 29)) | 1;
+	}
+}
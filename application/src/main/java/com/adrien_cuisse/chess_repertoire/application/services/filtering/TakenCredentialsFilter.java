@@ -0,0 +1,211 @@
+
+package com.adrien_cuisse.chess_repertoire.application.services.filtering;
+
+import com.adrien_cuisse.chess_repertoire.application.dto.account.CredentialsDTO;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByMailAddressQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameOrMailAddressQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.RegisterAccountCommand;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Answers lookups of nicknames and mail addresses which were never registered without reaching the store,
+ * 	by keeping the taken ones in a Bloom filter
+ *
+ * Until warmed up with the registered credentials, every lookup is forwarded, and registrations made through
+ * 	this handler are always added, even while warming up, so that no taken credential gets told available
+ *
+ * Combined lookups only forward the credentials which might be taken, and don't reach the store at all
+ * 	when neither might be
+ */
+public final class TakenCredentialsFilter implements
+	FindCredentialsByNicknameQuery.IHandler,
+	FindCredentialsByMailAddressQuery.IHandler,
+	FindCredentialsByNicknameOrMailAddressQuery.IHandler,
+	RegisterAccountCommand.IHandler
+{
+	private static final String NICKNAME_PREFIX = "n:";
+
+	private static final String MAIL_ADDRESS_PREFIX = "m:";
+
+	private static final Pattern WHITESPACES_PATTERN = Pattern.compile("\\s+");
+
+	private final FindCredentialsByNicknameOrMailAddressQuery.IHandler findByNicknameOrMailAddressHandler;
+
+	private final RegisterAccountCommand.IHandler registerAccountHandler;
+
+	private final BloomFilter takenCredentials;
+
+	private volatile boolean isWarm = false;
+
+	private final LongAdder skippedLookups = new LongAdder();
+
+	private final LongAdder falsePositives = new LongAdder();
+
+	/**
+	 * Combined lookups ask the store once per credential which might be taken
+	 *
+	 * @param expectedAccounts - the count of accounts past which more lookups than asked reach the store
+	 * @param falsePositiveRate - the rate of lookups of available credentials still reaching the store
+	 *
+	 * @throws IllegalArgumentException - if expectedAccounts isn't positive, or if falsePositiveRate isn't in ]0, 1[
+	 */
+	public TakenCredentialsFilter(
+		final FindCredentialsByNicknameQuery.IHandler findByNicknameHandler,
+		final FindCredentialsByMailAddressQuery.IHandler findByMailAddressHandler,
+		final RegisterAccountCommand.IHandler registerAccountHandler,
+		final int expectedAccounts,
+		final double falsePositiveRate
+	) {
+		this(
+			query -> new FindCredentialsByNicknameOrMailAddressQuery.Result(
+				query.nickname() == null
+					? Optional.empty()
+					: findByNicknameHandler.execute(new FindCredentialsByNicknameQuery(query.nickname())),
+				query.mailAddress() == null
+					? Optional.empty()
+					: findByMailAddressHandler.execute(new FindCredentialsByMailAddressQuery(query.mailAddress()))
+			),
+			registerAccountHandler,
+			expectedAccounts,
+			falsePositiveRate
+		);
+	}
+
+	/**
+	 * Single lookups are made through the combined one, not looking for the other credential
+	 *
+	 * @param expectedAccounts - the count of accounts past which more lookups than asked reach the store
+	 * @param falsePositiveRate - the rate of lookups of available credentials still reaching the store
+	 *
+	 * @throws IllegalArgumentException - if expectedAccounts isn't positive, or if falsePositiveRate isn't in ]0, 1[
+	 */
+	public TakenCredentialsFilter(
+		final FindCredentialsByNicknameOrMailAddressQuery.IHandler findByNicknameOrMailAddressHandler,
+		final RegisterAccountCommand.IHandler registerAccountHandler,
+		final int expectedAccounts,
+		final double falsePositiveRate
+	) {
+		this.findByNicknameOrMailAddressHandler = findByNicknameOrMailAddressHandler;
+		this.registerAccountHandler = registerAccountHandler;
+		this.takenCredentials = new BloomFilter(2 * expectedAccounts, falsePositiveRate);
+	}
+
+	/**
+	 * Adds the credentials already in the store, lookups not reaching the store anymore once done
+	 */
+	public void warmUp(final Iterable<CredentialsDTO> registeredCredentials)
+	{
+		for (final CredentialsDTO credentials : registeredCredentials)
+		{
+			this.takenCredentials.add(nicknameKey(credentials.nickname()));
+			this.takenCredentials.add(mailAddressKey(credentials.mailAddress()));
+		}
+		this.isWarm = true;
+	}
+
+	@Override
+	public Optional<CredentialsDTO> execute(final FindCredentialsByNicknameQuery query)
+	{
+		return this.execute(new FindCredentialsByNicknameOrMailAddressQuery(query.nickname(), null)).byNickname();
+	}
+
+	@Override
+	public Optional<CredentialsDTO> execute(final FindCredentialsByMailAddressQuery query)
+	{
+		return this.execute(new FindCredentialsByNicknameOrMailAddressQuery(null, query.mailAddress())).byMailAddress();
+	}
+
+	@Override
+	public FindCredentialsByNicknameOrMailAddressQuery.Result execute(final FindCredentialsByNicknameOrMailAddressQuery query)
+	{
+		final String nickname = query.nickname() == null || this.isKnownAvailable(nicknameKey(query.nickname()))
+			? null
+			: query.nickname();
+		final String mailAddress = query.mailAddress() == null || this.isKnownAvailable(mailAddressKey(query.mailAddress()))
+			? null
+			: query.mailAddress();
+
+		if (nickname == null && mailAddress == null)
+			return new FindCredentialsByNicknameOrMailAddressQuery.Result(Optional.empty(), Optional.empty());
+
+		final var result = this.findByNicknameOrMailAddressHandler.execute(
+			new FindCredentialsByNicknameOrMailAddressQuery(nickname, mailAddress)
+		);
+
+		return new FindCredentialsByNicknameOrMailAddressQuery.Result(
+			nickname == null ? Optional.empty() : this.counted(result.byNickname()),
+			mailAddress == null ? Optional.empty() : this.counted(result.byMailAddress())
+		);
+	}
+
+	/**
+	 * Adds the credentials before registering them, a failed registration only leaving a false positive behind
+	 */
+	@Override
+	public void execute(final RegisterAccountCommand command)
+	{
+		this.takenCredentials.add(nicknameKey(command.nickname()));
+		this.takenCredentials.add(mailAddressKey(command.mailAddress()));
+
+		this.registerAccountHandler.execute(command);
+	}
+
+	/**
+	 * @return double - the share of lookups of available credentials which still reached the store, 0 if none was made
+	 */
+	public double falsePositiveRate()
+	{
+		final long falsePositives = this.falsePositives.sum();
+		final long availableLookups = falsePositives + this.skippedLookups.sum();
+
+		return availableLookups == 0 ? 0 : (double) falsePositives / availableLookups;
+	}
+
+	/**
+	 * @return double - the false positive rate the filter should currently have, estimated from its fill
+	 */
+	public double expectedFalsePositiveRate()
+	{
+		return this.takenCredentials.expectedFalsePositiveRate();
+	}
+
+	private boolean isKnownAvailable(final String key)
+	{
+		if (!this.isWarm || this.takenCredentials.mightContain(key))
+			return false;
+
+		this.skippedLookups.increment();
+		return true;
+	}
+
+	private Optional<CredentialsDTO> counted(final Optional<CredentialsDTO> match)
+	{
+		if (this.isWarm && match.isEmpty())
+			this.falsePositives.increment();
+		return match;
+	}
+
+	private static String nicknameKey(final String nickname)
+	{
+		return NICKNAME_PREFIX + normalized(nickname);
+	}
+
+	private static String mailAddressKey(final String mailAddress)
+	{
+		return MAIL_ADDRESS_PREFIX + normalized(mailAddress);
+	}
+
+	/**
+	 * Looser than any store comparison, so that credentials the store would match always share a key,
+	 * 	the price being a few more false positives
+	 */
+	private static String normalized(final String credential)
+	{
+		return credential == null ? "" : WHITESPACES_PATTERN.matcher(credential).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+}
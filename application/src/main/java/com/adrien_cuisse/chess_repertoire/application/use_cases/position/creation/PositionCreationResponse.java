@@ -13,4 +13,5 @@ public final class PositionCreationResponse
 	public boolean fenIsMissing = false;
 	public boolean fenIsInvalid = false;
 	public boolean fenIsAlreadyUsed = false;
+	public boolean positionIsIllegal = false;
 }
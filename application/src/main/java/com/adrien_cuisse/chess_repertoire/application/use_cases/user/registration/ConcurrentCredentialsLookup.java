@@ -0,0 +1,106 @@
+
+package com.adrien_cuisse.chess_repertoire.application.use_cases.user.registration;
+
+import com.adrien_cuisse.chess_repertoire.application.dto.account.CredentialsDTO;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByMailAddressQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameOrMailAddressQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameQuery;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers the combined query with the separate nickname and mail address lookups, for stores which can't do both
+ * 	at once: the mail address one runs aside while the nickname one blocks the calling thread
+ */
+final class ConcurrentCredentialsLookup implements FindCredentialsByNicknameOrMailAddressQuery.IHandler
+{
+	static final int DEFAULT_THREADS_COUNT = 16;
+
+	static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+	/**
+	 * Lookups mostly wait for the credentials store, so they get threads of their own rather than pool workers
+	 */
+	static final ThreadPoolExecutor DEFAULT_EXECUTOR = boundedExecutor(DEFAULT_THREADS_COUNT, DEFAULT_QUEUE_CAPACITY);
+
+	private final FindCredentialsByNicknameQuery.IHandler findByNicknameHandler;
+
+	private final FindCredentialsByMailAddressQuery.IHandler findByMailAddressHandler;
+
+	private final Executor executor;
+
+	ConcurrentCredentialsLookup(
+		final FindCredentialsByNicknameQuery.IHandler findByNicknameHandler,
+		final FindCredentialsByMailAddressQuery.IHandler findByMailAddressHandler,
+		final Executor executor
+	) {
+		this.findByNicknameHandler = findByNicknameHandler;
+		this.findByMailAddressHandler = findByMailAddressHandler;
+		this.executor = executor;
+	}
+
+	/**
+	 * Once all threads are busy and the queue is full, lookups run on the calling thread, one after the other,
+	 * 	so that a burst of registrations slows down rather than piling up threads
+	 *
+	 * Idle threads stop after a while, so that the pool doesn't hold any once registrations calm down
+	 */
+	static ThreadPoolExecutor boundedExecutor(final int threadsCount, final int queueCapacity)
+	{
+		final var executor = new ThreadPoolExecutor(
+			threadsCount,
+			threadsCount,
+			30,
+			TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(queueCapacity),
+			runnable -> {
+				final var thread = new Thread(runnable, "credentials-lookup");
+				thread.setDaemon(true);
+				return thread;
+			},
+			new ThreadPoolExecutor.CallerRunsPolicy()
+		);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	@Override
+	public FindCredentialsByNicknameOrMailAddressQuery.Result execute(final FindCredentialsByNicknameOrMailAddressQuery query)
+	{
+		final CompletableFuture<Optional<CredentialsDTO>> byMailAddress = query.mailAddress() == null
+			? CompletableFuture.completedFuture(Optional.empty())
+			: CompletableFuture.supplyAsync(
+				() -> this.findByMailAddressHandler.execute(new FindCredentialsByMailAddressQuery(query.mailAddress())),
+				this.executor
+			);
+
+		final Optional<CredentialsDTO> byNickname = query.nickname() == null
+			? Optional.empty()
+			: this.findByNicknameHandler.execute(new FindCredentialsByNicknameQuery(query.nickname()));
+
+		return new FindCredentialsByNicknameOrMailAddressQuery.Result(byNickname, join(byMailAddress));
+	}
+
+	/**
+	 * Rethrows what the lookup threw, as if it was made on this thread
+	 */
+	private static <T> T join(final CompletableFuture<T> lookup)
+	{
+		try
+		{
+			return lookup.join();
+		}
+		catch (final CompletionException exception)
+		{
+			if (exception.getCause() instanceof RuntimeException cause)
+				throw cause;
+			throw exception;
+		}
+	}
+}
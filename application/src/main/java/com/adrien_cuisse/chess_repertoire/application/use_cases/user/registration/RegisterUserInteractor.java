@@ -2,11 +2,13 @@
 package com.adrien_cuisse.chess_repertoire.application.use_cases.user.registration;
 
 import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByMailAddressQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameOrMailAddressQuery;
 import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameQuery;
 import com.adrien_cuisse.chess_repertoire.application.dto.account.RegisterAccountCommand;
 import com.adrien_cuisse.chess_repertoire.application.services.IPasswordHasher;
-import com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid.UuidV4;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid.UuidV7;
 
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 public final class RegisterUserInteractor
@@ -26,9 +28,7 @@ public final class RegisterUserInteractor
 
 	private static final Pattern MAIL_ADDRESS_PATTERN = Pattern.compile("^(.+)@(\\S+)$");
 
-	private final FindCredentialsByNicknameQuery.IHandler findUserByNicknameHandler;
-
-	private final FindCredentialsByMailAddressQuery.IHandler findUserByMailAddressHandler;
+	private final FindCredentialsByNicknameOrMailAddressQuery.IHandler findUserByCredentialsHandler;
 
 	private final RegisterAccountCommand.IHandler registerUserHandler;
 
@@ -40,8 +40,41 @@ public final class RegisterUserInteractor
 		final RegisterAccountCommand.IHandler registerUserHandler,
 		final IPasswordHasher passwordHasher
 	) {
-		this.findUserByNicknameHandler = findUserByNicknameHandler;
-		this.findUserByMailAddressHandler = findUserByMailAddressHandler;
+		this(
+			findUserByNicknameHandler,
+			findUserByMailAddressHandler,
+			registerUserHandler,
+			passwordHasher,
+			ConcurrentCredentialsLookup.DEFAULT_EXECUTOR
+		);
+	}
+
+	/**
+	 * @param lookupsExecutor - runs the mail address lookup while the nickname one runs on the calling thread
+	 */
+	public RegisterUserInteractor(
+		final FindCredentialsByNicknameQuery.IHandler findUserByNicknameHandler,
+		final FindCredentialsByMailAddressQuery.IHandler findUserByMailAddressHandler,
+		final RegisterAccountCommand.IHandler registerUserHandler,
+		final IPasswordHasher passwordHasher,
+		final Executor lookupsExecutor
+	) {
+		this(
+			new ConcurrentCredentialsLookup(findUserByNicknameHandler, findUserByMailAddressHandler, lookupsExecutor),
+			registerUserHandler,
+			passwordHasher
+		);
+	}
+
+	/**
+	 * @param findUserByCredentialsHandler - checks both nickname and mail address availability in a single lookup
+	 */
+	public RegisterUserInteractor(
+		final FindCredentialsByNicknameOrMailAddressQuery.IHandler findUserByCredentialsHandler,
+		final RegisterAccountCommand.IHandler registerUserHandler,
+		final IPasswordHasher passwordHasher
+	) {
+		this.findUserByCredentialsHandler = findUserByCredentialsHandler;
 		this.registerUserHandler = registerUserHandler;
 		this.passwordHasher = passwordHasher;
 	}
@@ -60,14 +93,29 @@ public final class RegisterUserInteractor
 		final UserRegistrationRequest request,
 		final UserRegistrationResponse response
 	) {
-		boolean errorOccured = nicknameIsInvalidOrTaken(request, response);
-		errorOccured |= mailAddressIsInvalidOrTaken(request, response);
+		final boolean nicknameIsInvalid = nicknameIsInvalid(request, response);
+		final boolean mailAddressIsInvalid = mailAddressIsInvalid(request, response);
+
+		if (!nicknameIsInvalid || !mailAddressIsInvalid)
+		{
+			final var query = new FindCredentialsByNicknameOrMailAddressQuery(
+				nicknameIsInvalid ? null : request.nickname(),
+				mailAddressIsInvalid ? null : request.mailAddress()
+			);
+			final var matches = this.findUserByCredentialsHandler.execute(query);
+
+			response.nicknameIsAlreadyTaken = matches.byNickname().isPresent();
+			response.mailAddressIsAlreadyTaken = matches.byMailAddress().isPresent();
+		}
+
+		boolean errorOccured = nicknameIsInvalid || response.nicknameIsAlreadyTaken;
+		errorOccured |= mailAddressIsInvalid || response.mailAddressIsAlreadyTaken;
 		errorOccured |= passwordIsInvalid(request, response);
 
 		return !errorOccured;
 	}
 
-	private boolean nicknameIsInvalidOrTaken(
+	private boolean nicknameIsInvalid(
 		final UserRegistrationRequest request,
 		final UserRegistrationResponse response
 	) {
@@ -86,19 +134,11 @@ public final class RegisterUserInteractor
 			return response.nicknameIsInvalid = true;
 		if (!startsWithAlphanum(nickname))
 			return response.nicknameIsInvalid = true;
-		if (nicknameIsAlreadyTaken(request))
-			return response.nicknameIsAlreadyTaken = true;
 
 		return false;
 	}
 
-	private boolean nicknameIsAlreadyTaken(final UserRegistrationRequest request)
-	{
-		final var query = new FindCredentialsByNicknameQuery(request.nickname());
-		return this.findUserByNicknameHandler.execute(query).isPresent();
-	}
-
-	private boolean mailAddressIsInvalidOrTaken(
+	private boolean mailAddressIsInvalid(
 		final UserRegistrationRequest request,
 		final UserRegistrationResponse response
 	) {
@@ -111,17 +151,10 @@ public final class RegisterUserInteractor
 			return response.mailAddressIsMissing = true;
 		if (mailAddressHasInvalidFormat(mailAddress))
 			return response.mailAddressIsInvalid = true;
-		if (mailAddressIsAlreadyTaken(request))
-			return response.mailAddressIsAlreadyTaken = true;
 
 		return false;
 	}
 
-	private boolean mailAddressIsAlreadyTaken(final UserRegistrationRequest request) {
-		final var query = new FindCredentialsByMailAddressQuery(request.mailAddress());
-		return this.findUserByMailAddressHandler.execute(query).isPresent();
-	}
-
 	private boolean passwordIsInvalid(final UserRegistrationRequest request, final UserRegistrationResponse response)
 	{
 		final String password = request.password();
@@ -191,7 +224,7 @@ public final class RegisterUserInteractor
 		final String hashedPassword = this.passwordHasher.hashPassword(request.password());
 
 		final var command = new RegisterAccountCommand(
-			new UuidV4().toString(),
+			new UuidV7().toString(),
 			request.nickname().replaceAll("\\s+", " ").trim(),
 			request.mailAddress().replaceAll("\\s", "").trim(),
 			hashedPassword
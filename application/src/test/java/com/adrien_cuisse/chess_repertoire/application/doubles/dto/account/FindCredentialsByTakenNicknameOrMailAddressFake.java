@@ -0,0 +1,46 @@
+
+package com.adrien_cuisse.chess_repertoire.application.doubles.dto.account;
+
+import com.adrien_cuisse.chess_repertoire.application.dto.account.CredentialsDTO;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameOrMailAddressQuery;
+
+import java.util.Optional;
+
+public final class FindCredentialsByTakenNicknameOrMailAddressFake implements FindCredentialsByNicknameOrMailAddressQuery.IHandler
+{
+	private static final String MATCHING_NICKNAME = "taken nickname";
+
+	private static final String MATCHING_MAIL_ADDRESS = "taken@email.org";
+
+	private int executionsCount = 0;
+
+	@Override
+	public FindCredentialsByNicknameOrMailAddressQuery.Result execute(final FindCredentialsByNicknameOrMailAddressQuery query)
+	{
+		this.executionsCount++;
+
+		final Optional<CredentialsDTO> byNickname = MATCHING_NICKNAME.equals(query.nickname())
+			? Optional.of(new CredentialsDTO("", MATCHING_NICKNAME, "", ""))
+			: Optional.empty();
+		final Optional<CredentialsDTO> byMailAddress = MATCHING_MAIL_ADDRESS.equals(query.mailAddress())
+			? Optional.of(new CredentialsDTO("", "", MATCHING_MAIL_ADDRESS, ""))
+			: Optional.empty();
+
+		return new FindCredentialsByNicknameOrMailAddressQuery.Result(byNickname, byMailAddress);
+	}
+
+	public String matchingNickname()
+	{
+		return MATCHING_NICKNAME;
+	}
+
+	public String matchingMailAddress()
+	{
+		return MATCHING_MAIL_ADDRESS;
+	}
+
+	public int executionsCount()
+	{
+		return this.executionsCount;
+	}
+}
@@ -3,6 +3,7 @@ package com.adrien_cuisse.chess_repertoire.application.doubles.dto.position;
 
 import com.adrien_cuisse.chess_repertoire.application.dto.position.FindPositionByUserAndFenQuery;
 import com.adrien_cuisse.chess_repertoire.application.dto.position.PositionDTO;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
 
 import java.util.Optional;
 
@@ -11,12 +12,15 @@ public class FindPositionByUserAndFenFake implements FindPositionByUserAndFenQue
 	// valid arbitrary FEN, not expected to be created some day
 	private static final String MATCHING_FEN = "5q1k/p1Bp2p1/Rp1n1Rqp/1b1n4/4N1B1/PQr1N1Pr/1P2Pb1P/K1Q5 w - - 0 1";
 
+	private static final String MATCHING_POSITION_FEN = new Fen(MATCHING_FEN).positionFen();
+
+	private static final long MATCHING_POSITION_KEY = new Fen(MATCHING_FEN).positionKey();
+
 	@Override
 	public Optional<PositionDTO> execute(FindPositionByUserAndFenQuery query)
 	{
-		final String fen = query.fen();
-
-		if (!fen.equals(MATCHING_FEN))
+		// the key only narrows the search, the position fen confirms the match
+		if (query.positionKey() != MATCHING_POSITION_KEY || !query.positionFen().equals(MATCHING_POSITION_FEN))
 			return Optional.empty();
 
 		return Optional.of(new PositionDTO("", MATCHING_FEN, ""));
@@ -26,4 +30,9 @@ public class FindPositionByUserAndFenFake implements FindPositionByUserAndFenQue
 	{
 		return MATCHING_FEN;
 	}
+
+	public String matchingFenWithDifferentCounters()
+	{
+		return MATCHING_FEN.replace(" 0 1", " 12 40");
+	}
 }
@@ -0,0 +1,92 @@
+
+package com.adrien_cuisse.chess_repertoire.application.services.filtering;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class BloomFilterTest
+{
+	@Test
+	public void neverForgetsAKey()
+	{
+		// given a filter filled up to its expected insertions
+		final var filter = new BloomFilter(10_000, 0.01);
+		for (int index = 0; index < 10_000; index++)
+			filter.add("user-" + index);
+
+		for (int index = 0; index < 10_000; index++)
+		{
+			// when checking an added key
+			final boolean isHeld = filter.mightContain("user-" + index);
+
+			// then it should be held
+			assertTrue(isHeld, "Key user-" + index + " should be held");
+		}
+	}
+
+	@Test
+	public void keepsFalsePositivesNearTheAskedRate()
+	{
+		// given a filter filled up to its expected insertions
+		final var filter = new BloomFilter(10_000, 0.01);
+		for (int index = 0; index < 10_000; index++)
+			filter.add("user-" + index);
+
+		// when checking keys which were never added
+		int falsePositives = 0;
+		for (int index = 0; index < 100_000; index++)
+		{
+			if (filter.mightContain("visitor-" + index))
+				falsePositives++;
+		}
+
+		// then few of them should be claimed held, as estimated
+		final double actualRate = falsePositives / 100_000.0;
+		assertTrue(actualRate < 0.02, "False positive rate should be about 1%, got " + actualRate);
+		assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005, "Estimated rate should be about 1%");
+	}
+
+	@Test
+	public void holdsNothingOnceBuilt()
+	{
+		// given a new filter
+		final var filter = new BloomFilter(100, 0.01);
+
+		// when checking a key
+
+		// then it shouldn't be held
+		assertFalse(filter.mightContain("foo"), "Empty filter shouldn't hold any key");
+		assertEquals(0.0, filter.expectedFalsePositiveRate(), "Empty filter shouldn't have false positives");
+	}
+
+	public static Object[][] invalidSizes()
+	{
+		return new Object[][] {
+			{ 0, 0.01 },
+			{ 100, 0 },
+			{ 100, 1 },
+			{ 100, Double.NaN },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("invalidSizes")
+	public void requiresValidSize(final int expectedInsertions, final double falsePositiveRate)
+	{
+		// given an invalid size
+
+		// when trying to make a filter of it
+		final Executable instantiation = () -> new BloomFilter(expectedInsertions, falsePositiveRate);
+
+		// then there should be an error
+		assertThrows(
+			IllegalArgumentException.class,
+			instantiation,
+			"Filter shouldn't be made for " + expectedInsertions + " keys at rate " + falsePositiveRate
+		);
+	}
+}
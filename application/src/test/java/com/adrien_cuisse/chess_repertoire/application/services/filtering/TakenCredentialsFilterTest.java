@@ -0,0 +1,202 @@
+
+package com.adrien_cuisse.chess_repertoire.application.services.filtering;
+
+import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.FindCredentialsByTakenMailAddressFake;
+import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.FindCredentialsByTakenNicknameFake;
+import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.FindCredentialsByTakenNicknameOrMailAddressFake;
+import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.RegisterAccountMock;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.CredentialsDTO;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByMailAddressQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameOrMailAddressQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameQuery;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.RegisterAccountCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class TakenCredentialsFilterTest
+{
+	private final FindCredentialsByTakenNicknameFake findByNicknameFake = new FindCredentialsByTakenNicknameFake();
+
+	private final FindCredentialsByTakenMailAddressFake findByMailAddressFake = new FindCredentialsByTakenMailAddressFake();
+
+	private final AtomicInteger storeLookupsCount = new AtomicInteger();
+
+	private RegisterAccountMock registerAccountMock;
+
+	private TakenCredentialsFilter filter;
+
+	@BeforeEach
+	public void setup()
+	{
+		this.registerAccountMock = new RegisterAccountMock();
+		this.filter = new TakenCredentialsFilter(
+			query -> {
+				this.storeLookupsCount.incrementAndGet();
+				return this.findByNicknameFake.execute(query);
+			},
+			query -> {
+				this.storeLookupsCount.incrementAndGet();
+				return this.findByMailAddressFake.execute(query);
+			},
+			this.registerAccountMock,
+			1_000,
+			0.01
+		);
+	}
+
+	private void warmUpWithTakenCredentials()
+	{
+		this.filter.warmUp(List.of(new CredentialsDTO(
+			"",
+			this.findByNicknameFake.matchingNickname(),
+			this.findByMailAddressFake.matchingMailAddress(),
+			""
+		)));
+	}
+
+	@Test
+	public void forwardsLookupsUntilWarm()
+	{
+		// given a filter which wasn't warmed up
+
+		// when looking up available credentials
+		this.filter.execute(new FindCredentialsByNicknameQuery("fresh nickname"));
+		this.filter.execute(new FindCredentialsByMailAddressQuery("fresh@email.org"));
+
+		// then the store should have been asked anyway
+		assertEquals(2, this.storeLookupsCount.get(), "Store should be asked until the filter is warm");
+	}
+
+	@Test
+	public void skipsStoreForAvailableCredentials()
+	{
+		// given a warm filter
+		this.warmUpWithTakenCredentials();
+
+		// when looking up available credentials
+		final var byNickname = this.filter.execute(new FindCredentialsByNicknameQuery("fresh nickname"));
+		final var byMailAddress = this.filter.execute(new FindCredentialsByMailAddressQuery("fresh@email.org"));
+
+		// then they should be told available without asking the store
+		assertTrue(byNickname.isEmpty(), "Fresh nickname should be available");
+		assertTrue(byMailAddress.isEmpty(), "Fresh mail address should be available");
+		assertEquals(0, this.storeLookupsCount.get(), "Store shouldn't be asked about available credentials");
+	}
+
+	@Test
+	public void asksStoreForTakenCredentials()
+	{
+		// given a warm filter
+		this.warmUpWithTakenCredentials();
+
+		// when looking up taken credentials
+		final var byNickname = this.filter.execute(new FindCredentialsByNicknameQuery(this.findByNicknameFake.matchingNickname()));
+		final var byMailAddress = this.filter.execute(new FindCredentialsByMailAddressQuery(this.findByMailAddressFake.matchingMailAddress()));
+
+		// then the store should tell they are taken
+		assertTrue(byNickname.isPresent(), "Taken nickname should be found");
+		assertTrue(byMailAddress.isPresent(), "Taken mail address should be found");
+		assertEquals(2, this.storeLookupsCount.get(), "Store should be asked about taken credentials");
+	}
+
+	@Test
+	public void remembersRegisteredCredentials()
+	{
+		// given a warm filter
+		this.warmUpWithTakenCredentials();
+
+		// when registering an account through it
+		final var command = new RegisterAccountCommand("", "new nickname", "new@email.org", "hash");
+		this.filter.execute(command);
+
+		// then the account should be registered, and its credentials looked up in the store from now on
+		assertSame(command, this.registerAccountMock.receivedCommand(), "Account should be registered");
+		this.filter.execute(new FindCredentialsByNicknameQuery("New  Nickname"));
+		this.filter.execute(new FindCredentialsByMailAddressQuery("new@email.org"));
+		assertEquals(2, this.storeLookupsCount.get(), "Registered credentials should be looked up in the store");
+	}
+
+	@Test
+	public void measuresFalsePositiveRate()
+	{
+		// given a warm filter, and a registration which the store didn't keep
+		this.warmUpWithTakenCredentials();
+		this.filter.execute(new RegisterAccountCommand("", "lost nickname", "lost@email.org", "hash"));
+
+		// when looking up the lost nickname, and 3 available ones
+		this.filter.execute(new FindCredentialsByNicknameQuery("lost nickname"));
+		this.filter.execute(new FindCredentialsByNicknameQuery("foo"));
+		this.filter.execute(new FindCredentialsByNicknameQuery("bar"));
+		this.filter.execute(new FindCredentialsByNicknameQuery("baz"));
+
+		// then 1 of the 4 lookups of available credentials should count as a false positive
+		assertEquals(0.25, this.filter.falsePositiveRate(), "False positive rate should be measured from lookups");
+		assertTrue(this.filter.expectedFalsePositiveRate() < 0.01, "Nearly empty filter should expect few false positives");
+	}
+
+	@Test
+	public void skipsStoreForAvailableCombinedCredentials()
+	{
+		// given a warm filter over a combined lookup
+		final var findCredentialsFake = new FindCredentialsByTakenNicknameOrMailAddressFake();
+		final var combinedFilter = new TakenCredentialsFilter(findCredentialsFake, this.registerAccountMock, 1_000, 0.01);
+		combinedFilter.warmUp(List.of(new CredentialsDTO(
+			"",
+			findCredentialsFake.matchingNickname(),
+			findCredentialsFake.matchingMailAddress(),
+			""
+		)));
+
+		// when looking up an available nickname and mail address at once
+		final var result = combinedFilter.execute(new FindCredentialsByNicknameOrMailAddressQuery("fresh nickname", "fresh@email.org"));
+
+		// then they should be told available without asking the store
+		assertTrue(result.byNickname().isEmpty(), "Fresh nickname should be available");
+		assertTrue(result.byMailAddress().isEmpty(), "Fresh mail address should be available");
+		assertEquals(0, findCredentialsFake.executionsCount(), "Store shouldn't be asked about available credentials");
+	}
+
+	@Test
+	public void forwardsOnlyCombinedCredentialsWhichMightBeTaken()
+	{
+		// given a warm filter over a combined lookup
+		final var findCredentialsFake = new FindCredentialsByTakenNicknameOrMailAddressFake();
+		final var forwardedQueries = new ArrayList<FindCredentialsByNicknameOrMailAddressQuery>();
+		final var combinedFilter = new TakenCredentialsFilter(
+			query -> {
+				forwardedQueries.add(query);
+				return findCredentialsFake.execute(query);
+			},
+			this.registerAccountMock,
+			1_000,
+			0.01
+		);
+		combinedFilter.warmUp(List.of(new CredentialsDTO(
+			"",
+			findCredentialsFake.matchingNickname(),
+			findCredentialsFake.matchingMailAddress(),
+			""
+		)));
+
+		// when looking up a taken nickname and an available mail address at once
+		final var result = combinedFilter.execute(new FindCredentialsByNicknameOrMailAddressQuery(
+			findCredentialsFake.matchingNickname(),
+			"fresh@email.org"
+		));
+
+		// then only the nickname should be looked up in the store
+		assertTrue(result.byNickname().isPresent(), "Taken nickname should be found");
+		assertTrue(result.byMailAddress().isEmpty(), "Fresh mail address should be available");
+		assertEquals(
+			List.of(new FindCredentialsByNicknameOrMailAddressQuery(findCredentialsFake.matchingNickname(), null)),
+			forwardedQueries,
+			"Store should only be asked about the nickname"
+		);
+	}
+}
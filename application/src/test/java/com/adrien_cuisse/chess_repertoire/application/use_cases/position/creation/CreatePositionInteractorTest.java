@@ -5,6 +5,7 @@ import com.adrien_cuisse.chess_repertoire.application.doubles.dto.position.FindP
 import com.adrien_cuisse.chess_repertoire.application.doubles.dto.position.FindPositionByUserAndNameFake;
 import com.adrien_cuisse.chess_repertoire.application.doubles.dto.position.RegisterPositionMock;
 import com.adrien_cuisse.chess_repertoire.application.doubles.services.AuthenticatorMock;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -329,6 +330,37 @@ public final class CreatePositionInteractorTest
 		);
 	}
 
+	public static Object[][] illegalPositions()
+	{
+		return new Object[][] {
+			{ "4k3/8/8/8/8/8/8/4KK2 w - - 0 1", "white has 2 kings" },
+			{ "P3k3/8/8/8/8/8/8/4K3 w - - 0 1", "white pawn on last rank" },
+			{ "4k3/8/8/8/8/8/8/4R1K1 w - - 0 1", "black is in check while white is to play" },
+			{ "4k3/8/8/8/8/8/8/4K3 w - e6 0 1", "en-passant square without pawn" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("illegalPositions")
+	public void requiresLegalPosition(final String illegalFen, final String reason)
+	{
+		// given a position creation request with a well-formed but illegal fen
+		final var request = new PositionCreationRequest(
+			this.authenticatorMock.bypassingToken(),
+			"name",
+			illegalFen
+		);
+
+		// when trying to process the creation
+		this.interactor.execute(request, this.presenter);
+
+		// then there should be an "illegal position" error
+		assertTrue(
+			this.presenter.receivedResponse().positionIsIllegal,
+			"Creation shouldn't be possible with an illegal position: " + reason
+		);
+	}
+
 	@Test
 	public void registersThePosition()
 	{
@@ -431,4 +463,51 @@ public final class CreatePositionInteractorTest
 			"Registration shouldn't be processed if the user has already a position with this fen"
 		);
 	}
+
+	@Test
+	public void requiresAvailablePositionRegardlessOfCounters()
+	{
+		// given a position creation request, but with a position already used by the user, later in a game
+		final var request = new PositionCreationRequest(
+			this.authenticatorMock.bypassingToken(),
+			"name",
+			this.findPositionByUserAndFenFake.matchingFenWithDifferentCounters()
+		);
+
+		// when trying to process the registration
+		this.interactor.execute(request, this.presenter);
+
+		// then there should be a "fen already used" error
+		assertTrue(
+			this.presenter.receivedResponse().fenIsAlreadyUsed,
+			"Registration shouldn't be processed if the user has already this position, even with other counters"
+		);
+	}
+
+	@Test
+	public void registersThePositionKey()
+	{
+		// given a valid position creation request
+		final String fen = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1";
+		final var request = new PositionCreationRequest(
+			this.authenticatorMock.bypassingToken(),
+			"king's pawn",
+			fen
+		);
+
+		// when processing the registration
+		this.interactor.execute(request, this.presenter);
+
+		// then the position should have been registered with its key, and the fen the key stands for
+		assertEquals(
+			new Fen(fen).positionKey(),
+			this.registerPositionMock.receivedCommand().positionKey(),
+			"Position should be registered with a key indexing it regardless of counters"
+		);
+		assertEquals(
+			"rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq -",
+			this.registerPositionMock.receivedCommand().positionFen(),
+			"Position should be registered with the fen confirming key matches"
+		);
+	}
 }
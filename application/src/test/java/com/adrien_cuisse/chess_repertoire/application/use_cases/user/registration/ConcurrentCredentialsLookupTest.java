@@ -0,0 +1,84 @@
+
+package com.adrien_cuisse.chess_repertoire.application.use_cases.user.registration;
+
+import com.adrien_cuisse.chess_repertoire.application.dto.account.FindCredentialsByNicknameOrMailAddressQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class ConcurrentCredentialsLookupTest
+{
+	@Test
+	public void boundsDefaultThreads()
+	{
+		// given the executor lookups run on by default
+		final var executor = ConcurrentCredentialsLookup.DEFAULT_EXECUTOR;
+
+		// when checking how much it can grow
+
+		// then it should be capped, and hand extra lookups back to their caller
+		assertEquals(ConcurrentCredentialsLookup.DEFAULT_THREADS_COUNT, executor.getMaximumPoolSize(), "Threads should be capped");
+		assertEquals(ConcurrentCredentialsLookup.DEFAULT_QUEUE_CAPACITY, executor.getQueue().remainingCapacity(), "Queue should be bounded");
+		assertTrue(
+			executor.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.CallerRunsPolicy,
+			"Lookups past the queue should run on their caller"
+		);
+	}
+
+	@Test
+	public void doesNotGrowUnderBursts() throws InterruptedException
+	{
+		// given lookups on an executor of 2 threads queuing 2 lookups, each mail lookup taking a while
+		final var executor = ConcurrentCredentialsLookup.boundedExecutor(2, 2);
+		final Set<String> mailLookupThreads = ConcurrentHashMap.newKeySet();
+		final var lookup = new ConcurrentCredentialsLookup(
+			query -> Optional.empty(),
+			query -> {
+				mailLookupThreads.add(Thread.currentThread().getName());
+				sleep(20);
+				return Optional.empty();
+			},
+			executor
+		);
+
+		// when a burst of 20 registrations looks credentials up at once
+		final var callers = new ArrayList<Thread>();
+		for (int index = 0; index < 20; index++)
+		{
+			final var caller = new Thread(
+				() -> lookup.execute(new FindCredentialsByNicknameOrMailAddressQuery("nickname", "foo@bar.org")),
+				"caller-" + index
+			);
+			callers.add(caller);
+			caller.start();
+		}
+		for (final Thread caller : callers)
+			caller.join();
+
+		// then the pool shouldn't have grown, callers running the lookups it couldn't take
+		assertTrue(executor.getLargestPoolSize() <= 2, "Pool shouldn't grow past its threads, got " + executor.getLargestPoolSize());
+		assertTrue(
+			mailLookupThreads.stream().anyMatch(name -> name.startsWith("caller-")),
+			"Lookups the pool couldn't take should run on their caller"
+		);
+		executor.shutdown();
+	}
+
+	private static void sleep(final long millis)
+	{
+		try
+		{
+			Thread.sleep(millis);
+		}
+		catch (final InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
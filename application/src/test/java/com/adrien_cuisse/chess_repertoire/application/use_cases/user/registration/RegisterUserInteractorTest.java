@@ -3,14 +3,23 @@ package com.adrien_cuisse.chess_repertoire.application.use_cases.user.registrati
 
 import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.FindCredentialsByTakenMailAddressFake;
 import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.FindCredentialsByTakenNicknameFake;
+import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.FindCredentialsByTakenNicknameOrMailAddressFake;
 import com.adrien_cuisse.chess_repertoire.application.doubles.dto.account.RegisterAccountMock;
 import com.adrien_cuisse.chess_repertoire.application.doubles.services.PasswordHasherStub;
+import com.adrien_cuisse.chess_repertoire.application.dto.account.CredentialsDTO;
 import com.adrien_cuisse.chess_repertoire.application.services.IPasswordHasher;
+import com.adrien_cuisse.chess_repertoire.application.services.filtering.TakenCredentialsFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public final class RegisterUserInteractorTest
@@ -457,4 +466,134 @@ public final class RegisterUserInteractorTest
 			"User should be registered with its password hash"
 		);
 	}
+
+	@Test
+	public void looksUpCredentialsConcurrently()
+	{
+		// given lookups which only answer once both of them are waiting for the store
+		final var bothLookupsStarted = new CountDownLatch(2);
+		final var overlappingLookups = new AtomicInteger();
+		final var interactor = new RegisterUserInteractor(
+			query -> awaitOtherLookup(bothLookupsStarted, overlappingLookups),
+			query -> awaitOtherLookup(bothLookupsStarted, overlappingLookups),
+			this.registerAccountMock,
+			this.passwordHasherStub
+		);
+		final var request = new UserRegistrationRequest(
+			"nickname",
+			"foo@bar.org",
+			"xO9$iS6&kZ4!wD9_jM4>qS2{fX5@iP4("
+		);
+
+		// when processing the registration
+		interactor.execute(request, this.presenter);
+
+		// then both lookups should have run at the same time
+		assertEquals(2, overlappingLookups.get(), "Lookups should run concurrently");
+		assertTrue(this.registerAccountMock.wasExecuted(), "User should be registered once both lookups answered");
+	}
+
+	private static Optional<CredentialsDTO> awaitOtherLookup(
+		final CountDownLatch bothLookupsStarted,
+		final AtomicInteger overlappingLookups
+	) {
+		bothLookupsStarted.countDown();
+		try
+		{
+			if (bothLookupsStarted.await(2, TimeUnit.SECONDS))
+				overlappingLookups.incrementAndGet();
+		}
+		catch (final InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+		return Optional.empty();
+	}
+
+	@Test
+	public void looksUpBothCredentialsAtOnce()
+	{
+		// given an interactor checking both credentials with a single lookup
+		final var findCredentialsFake = new FindCredentialsByTakenNicknameOrMailAddressFake();
+		final var interactor = new RegisterUserInteractor(
+			findCredentialsFake,
+			this.registerAccountMock,
+			this.passwordHasherStub
+		);
+		final var request = new UserRegistrationRequest(
+			findCredentialsFake.matchingNickname(),
+			findCredentialsFake.matchingMailAddress(),
+			"xO9$iS6&kZ4!wD9_jM4>qS2{fX5@iP4("
+		);
+
+		// when processing the registration
+		interactor.execute(request, this.presenter);
+
+		// then a single lookup should have told both are taken
+		assertEquals(1, findCredentialsFake.executionsCount(), "Credentials should be looked up once");
+		assertTrue(this.presenter.receivedResponse().nicknameIsAlreadyTaken, "Nickname should be told taken");
+		assertTrue(this.presenter.receivedResponse().mailAddressIsAlreadyTaken, "Mail address should be told taken");
+		assertFalse(this.registerAccountMock.wasExecuted(), "User shouldn't be registered with taken credentials");
+	}
+
+	@Test
+	public void doesNotLookUpInvalidCredentials()
+	{
+		// given an interactor checking both credentials with a single lookup
+		final var findCredentialsFake = new FindCredentialsByTakenNicknameOrMailAddressFake();
+		final var interactor = new RegisterUserInteractor(
+			findCredentialsFake,
+			this.registerAccountMock,
+			this.passwordHasherStub
+		);
+		final var request = new UserRegistrationRequest(
+			"-",
+			"foo",
+			"xO9$iS6&kZ4!wD9_jM4>qS2{fX5@iP4("
+		);
+
+		// when processing a registration with invalid nickname and mail address
+		interactor.execute(request, this.presenter);
+
+		// then the store shouldn't be reached
+		assertEquals(0, findCredentialsFake.executionsCount(), "Invalid credentials shouldn't be looked up");
+	}
+
+	@Test
+	public void looksUpOnlyCredentialsWhichMightBeTaken()
+	{
+		// given an interactor checking both credentials at once through a warm filter
+		final var findCredentialsFake = new FindCredentialsByTakenNicknameOrMailAddressFake();
+		final var filter = new TakenCredentialsFilter(findCredentialsFake, this.registerAccountMock, 1_000, 0.01);
+		filter.warmUp(List.of(new CredentialsDTO(
+			"",
+			findCredentialsFake.matchingNickname(),
+			findCredentialsFake.matchingMailAddress(),
+			""
+		)));
+		final var interactor = new RegisterUserInteractor(filter, filter, this.passwordHasherStub);
+		final var freshRequest = new UserRegistrationRequest(
+			"nickname",
+			"foo@bar.org",
+			"xO9$iS6&kZ4!wD9_jM4>qS2{fX5@iP4("
+		);
+		final var takenRequest = new UserRegistrationRequest(
+			findCredentialsFake.matchingNickname(),
+			"bar@foo.org",
+			"xO9$iS6&kZ4!wD9_jM4>qS2{fX5@iP4("
+		);
+
+		// when processing a registration with fresh credentials, then one with a taken nickname
+		interactor.execute(freshRequest, this.presenter);
+		final boolean freshUserWasRegistered = this.registerAccountMock.wasExecuted();
+		final int freshLookupsCount = findCredentialsFake.executionsCount();
+		interactor.execute(takenRequest, this.presenter);
+
+		// then only the taken nickname should have reached the store
+		assertTrue(freshUserWasRegistered, "User with fresh credentials should be registered");
+		assertEquals(0, freshLookupsCount, "Fresh credentials shouldn't be looked up in the store");
+		assertEquals(1, findCredentialsFake.executionsCount(), "Taken nickname should be looked up in the store");
+		assertTrue(this.presenter.receivedResponse().nicknameIsAlreadyTaken, "Nickname should be told taken");
+		assertFalse(this.presenter.receivedResponse().mailAddressIsAlreadyTaken, "Mail address should be told available");
+	}
 }
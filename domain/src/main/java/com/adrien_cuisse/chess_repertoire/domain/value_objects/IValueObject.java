@@ -3,8 +3,15 @@ package com.adrien_cuisse.chess_repertoire.domain.value_objects;
 
 /**
  * A value to compose our objects with, having some validation logics
+ *
+ * Implementations also override equals(Object) to match equals(IValueObject), and hashCode() with a hash
+ * 	computed at construction, so that values can be used as keys of maps and caches
  */
 public interface IValueObject
 {
     boolean equals(final IValueObject other);
+
+    boolean equals(final Object other);
+
+    int hashCode();
 }
@@ -0,0 +1,62 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects;
+
+import java.util.function.Supplier;
+
+/**
+ * Why a value couldn't be parsed, without the cost of an exception: its stack trace
+ * 	is only captured if the exception is asked for
+ */
+public final class ParseFailure
+{
+    private final Class<? extends IllegalArgumentException> type;
+
+    private final Supplier<? extends IllegalArgumentException> exception;
+
+    /**
+     * @param type - the class of the exception the throwing constructor would have thrown
+     * @param exception - builds that exception
+     */
+    public ParseFailure(
+        final Class<? extends IllegalArgumentException> type,
+        final Supplier<? extends IllegalArgumentException> exception
+    ) {
+        this.type = type;
+        this.exception = exception;
+    }
+
+    public Class<? extends IllegalArgumentException> type()
+    {
+        return this.type;
+    }
+
+    /**
+     * @return boolean - true if the failure would be thrown as an exception of this type
+     */
+    public boolean is(final Class<? extends IllegalArgumentException> type)
+    {
+        return type.isAssignableFrom(this.type);
+    }
+
+    /**
+     * @return IllegalArgumentException - a new instance of the exception the throwing constructor would have thrown
+     */
+    public IllegalArgumentException toException()
+    {
+        return this.exception.get();
+    }
+
+    /**
+     * @return String - the message of the exception, which has to be built
+     */
+    public String message()
+    {
+        return this.toException().getMessage();
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.type.getSimpleName();
+    }
+}
@@ -0,0 +1,72 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The outcome of parsing a value without throwing: either the value, or why it is invalid
+ */
+public final class ParseResult<T>
+{
+    private final T value;
+
+    private final ParseFailure failure;
+
+    private ParseResult(final T value, final ParseFailure failure)
+    {
+        this.value = value;
+        this.failure = failure;
+    }
+
+    public static <T> ParseResult<T> valid(final T value)
+    {
+        return new ParseResult<>(value, null);
+    }
+
+    public static <T> ParseResult<T> invalid(final ParseFailure failure)
+    {
+        return new ParseResult<>(null, failure);
+    }
+
+    public boolean isValid()
+    {
+        return this.failure == null;
+    }
+
+    /**
+     * @return Optional<T> - the value, if valid
+     */
+    public Optional<T> value()
+    {
+        return Optional.ofNullable(this.value);
+    }
+
+    /**
+     * @return Optional<ParseFailure> - the reason why the value is invalid
+     */
+    public Optional<ParseFailure> failure()
+    {
+        return Optional.ofNullable(this.failure);
+    }
+
+    /**
+     * @return ParseResult<R> - the mapped value if valid, else the same failure
+     */
+    public <R> ParseResult<R> map(final Function<? super T, ? extends R> mapper)
+    {
+        return this.isValid()
+            ? valid(mapper.apply(this.value))
+            : invalid(this.failure);
+    }
+
+    /**
+     * @throws IllegalArgumentException - the failure, if invalid
+     */
+    public T orElseThrow()
+    {
+        if (!this.isValid())
+            throw this.failure.toException();
+        return this.value;
+    }
+}
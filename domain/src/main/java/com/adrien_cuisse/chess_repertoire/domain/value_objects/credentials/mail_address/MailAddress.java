@@ -2,6 +2,8 @@
 package com.adrien_cuisse.chess_repertoire.domain.value_objects.credentials.mail_address;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
 
 import java.util.regex.Pattern;
 
@@ -9,8 +11,14 @@ public final class MailAddress implements IValueObject
 {
     private static final Pattern VALIDATION_PATTERN = Pattern.compile("^(.+)@(\\S+)$");
 
+    private static final ParseFailure NULL_FAILURE = new ParseFailure(NullMailAddressException.class, NullMailAddressException::new);
+
+    private static final ParseFailure EMPTY_FAILURE = new ParseFailure(EmptyMailAddressException.class, EmptyMailAddressException::new);
+
     private final String mailAddress;
 
+    private final int hashCode;
+
     /**
      * @throws NullMailAddressException - if mailAddress is null
      * @throws EmptyMailAddressException - if mailAddress is empty
@@ -18,16 +26,25 @@ public final class MailAddress implements IValueObject
      */
     public MailAddress(final String mailAddress)
     {
-        if (mailAddress == null)
-            throw new NullMailAddressException();
-
-        this.mailAddress = mailAddress.replace(" ", "");
+        this(normalized(mailAddress));
+    }
 
-        if (this.mailAddress.equals(""))
-            throw new EmptyMailAddressException();
+    /**
+     * Takes the already normalized mailAddress, so that tryParse doesn't normalize it twice
+     */
+    private MailAddress(final ParseResult<String> normalized)
+    {
+        this.mailAddress = normalized.orElseThrow();
+        this.hashCode = this.mailAddress.hashCode();
+    }
 
-        if (!VALIDATION_PATTERN.matcher(this.mailAddress).find())
-            throw new InvalidMailAddressException(this.mailAddress);
+    /**
+     * @return ParseResult<MailAddress> - the mail address, or the failure the constructor would have thrown
+     */
+    public static ParseResult<MailAddress> tryParse(final String mailAddress)
+    {
+        final ParseResult<String> normalized = normalized(mailAddress);
+        return normalized.map(value -> new MailAddress(normalized));
     }
 
     @Override
@@ -38,8 +55,41 @@ public final class MailAddress implements IValueObject
         return false;
     }
 
+    @Override
+    public boolean equals(final Object other)
+    {
+        return other instanceof IValueObject valueObject && this.equals(valueObject);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hashCode;
+    }
+
     public String toString()
     {
         return this.mailAddress;
     }
+
+    private static ParseResult<String> normalized(final String mailAddress)
+    {
+        if (mailAddress == null)
+            return ParseResult.invalid(NULL_FAILURE);
+
+        final String normalized = mailAddress.replace(" ", "");
+
+        if (normalized.equals(""))
+            return ParseResult.invalid(EMPTY_FAILURE);
+
+        if (!VALIDATION_PATTERN.matcher(normalized).find())
+        {
+            return ParseResult.invalid(new ParseFailure(
+                InvalidMailAddressException.class,
+                () -> new InvalidMailAddressException(normalized)
+            ));
+        }
+
+        return ParseResult.valid(normalized);
+    }
 }
@@ -2,23 +2,44 @@
 package com.adrien_cuisse.chess_repertoire.domain.value_objects.credentials.nickname;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
 
 public final class Nickname implements IValueObject
 {
+    private static final ParseFailure NULL_FAILURE = new ParseFailure(NullNicknameException.class, NullNicknameException::new);
+
+    private static final ParseFailure EMPTY_FAILURE = new ParseFailure(EmptyNicknameException.class, EmptyNicknameException::new);
+
     private final String nickname;
 
+    private final int hashCode;
+
     /**
      * @throws NullNicknameException - if nickname is null
      * @throws EmptyNicknameException - if nickname is empty
      */
     public Nickname(final String nickname)
     {
-        if (nickname == null)
-            throw new NullNicknameException();
+        this(normalized(nickname));
+    }
+
+    /**
+     * Takes the already normalized nickname, so that tryParse doesn't normalize it twice
+     */
+    private Nickname(final ParseResult<String> normalized)
+    {
+        this.nickname = normalized.orElseThrow();
+        this.hashCode = this.nickname.hashCode();
+    }
 
-        this.nickname = nickname.replaceAll("\s+", "\s").trim();
-        if (this.nickname.equals(""))
-            throw new EmptyNicknameException();
+    /**
+     * @return ParseResult<Nickname> - the nickname, or the failure the constructor would have thrown
+     */
+    public static ParseResult<Nickname> tryParse(final String nickname)
+    {
+        final ParseResult<String> normalized = normalized(nickname);
+        return normalized.map(value -> new Nickname(normalized));
     }
 
     @Override
@@ -29,9 +50,32 @@ public final class Nickname implements IValueObject
         return false;
     }
 
+    @Override
+    public boolean equals(final Object other)
+    {
+        return other instanceof IValueObject valueObject && this.equals(valueObject);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hashCode;
+    }
+
     public String toString()
     {
         return this.nickname;
     }
-}
 
+    private static ParseResult<String> normalized(final String nickname)
+    {
+        if (nickname == null)
+            return ParseResult.invalid(NULL_FAILURE);
+
+        final String normalized = nickname.replaceAll("\s+", "\s").trim();
+        if (normalized.equals(""))
+            return ParseResult.invalid(EMPTY_FAILURE);
+
+        return ParseResult.valid(normalized);
+    }
+}
@@ -7,12 +7,15 @@ public final class HashedPassword implements IPassword
 {
     private final String hash;
 
+    private final int hashCode;
+
     public HashedPassword(final String hashedPassword)
     {
         if (hashedPassword == null)
             throw new NullPasswordException();
 
         this.hash = hashedPassword;
+        this.hashCode = this.hash.hashCode();
     }
 
     @Override
@@ -29,6 +32,18 @@ public final class HashedPassword implements IPassword
         return false;
     }
 
+    @Override
+    public boolean equals(final Object other)
+    {
+        return other instanceof IValueObject valueObject && this.equals(valueObject);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hashCode;
+    }
+
     public String toString()
     {
         return this.hash;
@@ -7,6 +7,8 @@ public final class PlainPassword implements IPassword
 {
     private final String password;
 
+    private final int hashCode;
+
     /**
      * @throws NullPasswordException - if password is null
      * @throws EmptyPasswordException - if password is empty
@@ -19,6 +21,8 @@ public final class PlainPassword implements IPassword
         this.password = password;
         if (this.password.equals(""))
             throw new EmptyPasswordException();
+
+        this.hashCode = this.password.hashCode();
     }
 
     @Override
@@ -35,6 +39,18 @@ public final class PlainPassword implements IPassword
         return false;
     }
 
+    @Override
+    public boolean equals(final Object other)
+    {
+        return other instanceof IValueObject valueObject && this.equals(valueObject);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hashCode;
+    }
+
     public String toString()
     {
         return this.password;
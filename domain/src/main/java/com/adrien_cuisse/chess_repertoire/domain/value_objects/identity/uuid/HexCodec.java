@@ -0,0 +1,70 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid;
+
+import java.util.Arrays;
+
+/**
+ * Converts uuid bytes from and to their lowercase hexadecimal form with lookup tables,
+ * 	rather than formatting or parsing each octet
+ */
+final class HexCodec
+{
+    static final int CANONICAL_LENGTH = 36;
+
+    static final int INVALID_DIGIT = -1;
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The value of each ASCII character as a lowercase hexadecimal digit, or INVALID_DIGIT
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    static
+    {
+        Arrays.fill(VALUES, (byte) INVALID_DIGIT);
+        for (int value = 0; value < DIGITS.length; value++)
+            VALUES[DIGITS[value]] = (byte) value;
+    }
+
+    private HexCodec()
+    {
+    }
+
+    /**
+     * @return String - the 128 bits as 01234567-89ab-cdef-0123-456789abcdef
+     */
+    static String toCanonicalString(final long mostSignificantBits, final long leastSignificantBits)
+    {
+        final var characters = new char[CANONICAL_LENGTH];
+
+        writeDigits(characters, 0, mostSignificantBits >>> 32, 8);
+        characters[8] = '-';
+        writeDigits(characters, 9, mostSignificantBits >>> 16, 4);
+        characters[13] = '-';
+        writeDigits(characters, 14, mostSignificantBits, 4);
+        characters[18] = '-';
+        writeDigits(characters, 19, leastSignificantBits >>> 48, 4);
+        characters[23] = '-';
+        writeDigits(characters, 24, leastSignificantBits, 12);
+
+        return new String(characters);
+    }
+
+    /**
+     * @return int - the value of the lowercase hexadecimal digit, or INVALID_DIGIT
+     */
+    static int digitValue(final char digit)
+    {
+        return digit < VALUES.length ? VALUES[digit] : INVALID_DIGIT;
+    }
+
+    /**
+     * Writes the lowest digitsCount nibbles of bits, the most significant first
+     */
+    private static void writeDigits(final char[] characters, final int offset, final long bits, final int digitsCount)
+    {
+        for (int digit = 0; digit < digitsCount; digit++)
+            characters[offset + digit] = DIGITS[(int) (bits >>> (4 * (digitsCount - 1 - digit))) & 0xf];
+    }
+}
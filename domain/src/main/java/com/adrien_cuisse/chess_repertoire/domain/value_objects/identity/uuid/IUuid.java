@@ -3,6 +3,9 @@ package com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.IIdentity;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * An RFC-4122 compliant UUID
  *
@@ -10,10 +13,54 @@ import com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.IIdentit
  */
 public interface IUuid extends IIdentity<String>
 {
+    /**
+     * The size of the binary form, against 36 characters for the canonical string
+     */
+    int BYTES = 16;
+
     int version();
 
     Variant variant();
 
+    /**
+     * @return long - the first 8 bytes, big-endian
+     */
+    long mostSignificantBits();
+
+    /**
+     * @return long - the last 8 bytes, big-endian
+     */
+    long leastSignificantBits();
+
+    /**
+     * Writes the 16 bytes at the buffer position, big-endian whatever the buffer order, and moves past them
+     *
+     * @throws java.nio.BufferOverflowException - if less than 16 bytes remain in buffer
+     */
+    default void writeTo(final ByteBuffer buffer)
+    {
+        if (buffer.order() == ByteOrder.BIG_ENDIAN)
+        {
+            buffer.putLong(this.mostSignificantBits());
+            buffer.putLong(this.leastSignificantBits());
+        }
+        else
+        {
+            buffer.putLong(Long.reverseBytes(this.mostSignificantBits()));
+            buffer.putLong(Long.reverseBytes(this.leastSignificantBits()));
+        }
+    }
+
+    /**
+     * @return byte[] - the 16 bytes, big-endian
+     */
+    default byte[] toBytes()
+    {
+        final var bytes = new byte[BYTES];
+        this.writeTo(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
     enum Variant
     {
         APOLLO_NCS_VARIANT(0x00, 0x7f),
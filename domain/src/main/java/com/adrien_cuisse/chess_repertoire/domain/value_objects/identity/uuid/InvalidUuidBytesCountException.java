@@ -4,6 +4,11 @@ public final class InvalidUuidBytesCountException extends IllegalArgumentExcepti
 {
     public InvalidUuidBytesCountException(final byte[] bytes)
     {
-        super(String.format("Expected 16 bytes, got %d", bytes.length));
+        this(bytes.length);
+    }
+
+    public InvalidUuidBytesCountException(final int bytesCount)
+    {
+        super(String.format("Expected 16 bytes, got %d", bytesCount));
     }
 }
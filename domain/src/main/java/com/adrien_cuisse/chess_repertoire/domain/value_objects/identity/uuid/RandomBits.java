@@ -0,0 +1,67 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Cryptographically strong random bits, each thread having its own generator and buffer,
+ * 	so that threads never wait on each other, and generators are only called once per batch of bits
+ */
+final class RandomBits
+{
+    private static final int BUFFERED_LONGS = 512;
+
+    private static final VarHandle BIG_ENDIAN_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final ThreadLocal<RandomBits> PER_THREAD = ThreadLocal.withInitial(RandomBits::new);
+
+    private final SecureRandom generator = newGenerator();
+
+    private final byte[] buffer = new byte[BUFFERED_LONGS * Long.BYTES];
+
+    private int position = this.buffer.length;
+
+    private RandomBits()
+    {
+    }
+
+    /**
+     * @return RandomBits - the bits of the calling thread, not to be shared with other threads
+     */
+    static RandomBits ofCurrentThread()
+    {
+        return PER_THREAD.get();
+    }
+
+    long nextLong()
+    {
+        if (this.position == this.buffer.length)
+        {
+            this.generator.nextBytes(this.buffer);
+            this.position = 0;
+        }
+
+        final long bits = (long) BIG_ENDIAN_LONGS.get(this.buffer, this.position);
+        this.position += Long.BYTES;
+        return bits;
+    }
+
+    /**
+     * DRBG instances don't share any state, unlike the default generator reading from a shared source
+     */
+    private static SecureRandom newGenerator()
+    {
+        try
+        {
+            return SecureRandom.getInstance("DRBG");
+        }
+        catch (final NoSuchAlgorithmException unavailableAlgorithm)
+        {
+            return new SecureRandom();
+        }
+    }
+}
@@ -2,13 +2,26 @@
 package com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
 
-import java.util.Arrays;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 final class Uuid implements IUuid
 {
-    private final byte[] bytes;
+    private static final ParseFailure NULL_FAILURE = new ParseFailure(NullUuidException.class, NullUuidException::new);
+
+    private final long mostSignificantBits;
+
+    private final long leastSignificantBits;
+
+    private final int hashCode;
+
+    /**
+     * The canonical form, only computed once asked
+     */
+    private String string;
 
     /**
      * @throws NullUuidException - if bytes are null
@@ -21,7 +34,16 @@ final class Uuid implements IUuid
         if (bytes.length != 16)
             throw new InvalidUuidBytesCountException(bytes);
 
-        this.bytes = bytes;
+        this.mostSignificantBits = bigEndianLong(bytes, 0);
+        this.leastSignificantBits = bigEndianLong(bytes, 8);
+        this.hashCode = Long.hashCode(this.mostSignificantBits ^ this.leastSignificantBits);
+    }
+
+    Uuid(final long mostSignificantBits, final long leastSignificantBits)
+    {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+        this.hashCode = Long.hashCode(mostSignificantBits ^ leastSignificantBits);
     }
 
     /**
@@ -50,47 +72,96 @@ final class Uuid implements IUuid
      */
     Uuid(final String uuid, final int expectedVersion)
     {
-        if (uuid == null)
-            throw new NullUuidException();
+        this(parse(uuid, expectedVersion).orElseThrow());
+    }
 
-        final String trimmed = uuid.replace(" ", "");
-        if (!trimmed.matches("[a-f0-9]{8}-([a-f0-9]{4}-){3}[a-f0-9]{12}"))
-            throw new InvalidUuidFormatException(uuid);
+    private Uuid(final Uuid uuid)
+    {
+        this(uuid.mostSignificantBits, uuid.leastSignificantBits);
+    }
+
+    /**
+     * @return ParseResult<Uuid> - the uuid, or the failure the constructor would have thrown
+     */
+    static ParseResult<Uuid> tryParse(final String uuid, final int expectedVersion)
+    {
+        return parse(uuid, expectedVersion);
+    }
 
-        final String digits = trimmed.replace("-", "");
+    /**
+     * Reads the 16 bytes at the buffer position, as written by IUuid.writeTo(), and moves past them
+     *
+     * @throws NullUuidException - if buffer is null
+     * @throws InvalidUuidBytesCountException - if less than 16 bytes remain in buffer
+     * @throws InvalidUuidVersionException - if version mismatches with bytes
+     */
+    static Uuid readFrom(final ByteBuffer buffer, final int expectedVersion)
+    {
+        if (buffer == null)
+            throw new NullUuidException();
+        if (buffer.remaining() < BYTES)
+            throw new InvalidUuidBytesCountException(buffer.remaining());
 
-        final String versionDigit = digits.substring(12, 13);
-        final int actualVersion = Integer.parseInt(versionDigit, 16);
-        if (actualVersion != expectedVersion)
-            throw new InvalidUuidVersionException(uuid, expectedVersion);
+        final int position = buffer.position();
+        final boolean isBigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        final long mostSignificantBits = buffer.getLong(position);
+        final long leastSignificantBits = buffer.getLong(position + 8);
+        final var uuid = isBigEndian
+            ? new Uuid(mostSignificantBits, leastSignificantBits)
+            : new Uuid(Long.reverseBytes(mostSignificantBits), Long.reverseBytes(leastSignificantBits));
 
-        this.bytes = new byte[digits.length() / 2];
+        if (uuid.version() != expectedVersion)
+            throw new InvalidUuidVersionException(uuid.toString(), expectedVersion);
 
-        for (int processedDigits = 0; processedDigits < digits.length(); processedDigits += 2)
-        {
-            String hexOctet = digits.substring(processedDigits, processedDigits + 2);
-            this.bytes[processedDigits / 2] = (byte) Integer.parseInt(hexOctet, 16);
-        }
+        buffer.position(position + BYTES);
+        return uuid;
     }
 
     @Override
     public boolean equals(final IValueObject other)
     {
         if (other instanceof IUuid otherInstance)
-            return this.toNative().equals(otherInstance.toNative());
+        {
+            return this.mostSignificantBits == otherInstance.mostSignificantBits()
+                && this.leastSignificantBits == otherInstance.leastSignificantBits();
+        }
         return false;
     }
 
+    @Override
+    public boolean equals(final Object other)
+    {
+        return other instanceof IValueObject valueObject && this.equals(valueObject);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hashCode;
+    }
+
     @Override
     public int version()
     {
-        return (this.bytes[6] & 0b1111_1111) >> 4;
+        return (int) (this.mostSignificantBits >>> 12) & 0xf;
     }
 
     @Override
     public Variant variant()
     {
-        return Variant.matchFromByte(this.bytes[8]);
+        return Variant.matchFromByte((byte) (this.leastSignificantBits >>> 56));
+    }
+
+    @Override
+    public long mostSignificantBits()
+    {
+        return this.mostSignificantBits;
+    }
+
+    @Override
+    public long leastSignificantBits()
+    {
+        return this.leastSignificantBits;
     }
 
     @Override
@@ -102,19 +173,79 @@ final class Uuid implements IUuid
     @Override
     public String toString()
     {
-        final var builder = new StringBuilder();
-        final List<Integer> dashesPosition = Arrays.asList(4, 6, 8, 10);
+        // a race only computes the same string twice
+        String string = this.string;
+        if (string == null)
+            this.string = string = HexCodec.toCanonicalString(this.mostSignificantBits, this.leastSignificantBits);
+        return string;
+    }
+
+    /**
+     * Scans the string once, ignoring spaces, checking the 8-4-4-4-12 layout while decoding digits into the bits
+     */
+    private static ParseResult<Uuid> parse(final String uuid, final int expectedVersion)
+    {
+        if (uuid == null)
+            return ParseResult.invalid(NULL_FAILURE);
 
-        for (int bytesCount = 0; bytesCount < this.bytes.length; bytesCount++)
+        long mostSignificantBits = 0;
+        long leastSignificantBits = 0;
+        int position = 0;
+
+        for (int index = 0; index < uuid.length(); index++)
         {
-            if (dashesPosition.contains(bytesCount))
-                builder.append("-");
+            final char character = uuid.charAt(index);
+            if (character == ' ')
+                continue;
+
+            if (position == HexCodec.CANONICAL_LENGTH)
+                return invalidFormat(uuid);
+
+            if (position == 8 || position == 13 || position == 18 || position == 23)
+            {
+                if (character != '-')
+                    return invalidFormat(uuid);
+            }
+            else
+            {
+                final int digit = HexCodec.digitValue(character);
+                if (digit == HexCodec.INVALID_DIGIT)
+                    return invalidFormat(uuid);
+
+                if (position < 19)
+                    mostSignificantBits = (mostSignificantBits << 4) | digit;
+                else
+                    leastSignificantBits = (leastSignificantBits << 4) | digit;
+            }
+            position++;
+        }
+
+        if (position != HexCodec.CANONICAL_LENGTH)
+            return invalidFormat(uuid);
 
-            final String hexOctet = String.format("%02x", this.bytes[bytesCount]);
-            builder.append(hexOctet);
+        final int actualVersion = (int) (mostSignificantBits >>> 12) & 0xf;
+        if (actualVersion != expectedVersion)
+        {
+            return ParseResult.invalid(new ParseFailure(
+                InvalidUuidVersionException.class,
+                () -> new InvalidUuidVersionException(uuid, expectedVersion)
+            ));
         }
 
-        return builder.toString();
+        return ParseResult.valid(new Uuid(mostSignificantBits, leastSignificantBits));
+    }
+
+    private static ParseResult<Uuid> invalidFormat(final String uuid)
+    {
+        return ParseResult.invalid(new ParseFailure(InvalidUuidFormatException.class, () -> new InvalidUuidFormatException(uuid)));
+    }
+
+    private static long bigEndianLong(final byte[] bytes, final int offset)
+    {
+        long bits = 0;
+        for (int index = offset; index < offset + 8; index++)
+            bits = (bits << 8) | (bytes[index] & 0xff);
+        return bits;
     }
 
     /**
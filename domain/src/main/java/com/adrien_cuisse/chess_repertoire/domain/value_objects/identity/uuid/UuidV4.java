@@ -2,18 +2,32 @@
 package com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
 
-import java.util.Random;
+import java.nio.ByteBuffer;
 
 public final class UuidV4 implements IUuid
 {
-    private static final Random generator = new Random();
+    private static final long VERSION_BITS = 0x4000L;
+
+    private static final long VERSION_MASK = 0xf000L;
+
+    private static final long RFC_VARIANT_BITS = 0x8000_0000_0000_0000L;
+
+    private static final long VARIANT_MASK = 0xc000_0000_0000_0000L;
 
     private final Uuid uuid;
 
+    /**
+     * Draws the random bits from a generator of the calling thread, so that threads don't contend
+     */
     public UuidV4()
     {
-        this.uuid = new Uuid(randomBytes(), 4, Variant.RFC_VARIANT);
+        final RandomBits randomBits = RandomBits.ofCurrentThread();
+        this.uuid = new Uuid(
+            (randomBits.nextLong() & ~VERSION_MASK) | VERSION_BITS,
+            (randomBits.nextLong() & ~VARIANT_MASK) | RFC_VARIANT_BITS
+        );
     }
 
     /**
@@ -23,7 +37,32 @@ public final class UuidV4 implements IUuid
      */
     public UuidV4(final String uuid)
     {
-        this.uuid = new Uuid(uuid, 4);
+        this(new Uuid(uuid, 4));
+    }
+
+    private UuidV4(final Uuid uuid)
+    {
+        this.uuid = uuid;
+    }
+
+    /**
+     * @return ParseResult<UuidV4> - the uuid, or the failure the constructor would have thrown
+     */
+    public static ParseResult<UuidV4> tryParse(final String uuid)
+    {
+        return Uuid.tryParse(uuid, 4).map(UuidV4::new);
+    }
+
+    /**
+     * Reads the 16 bytes at the buffer position, as written by writeTo(), and moves past them
+     *
+     * @throws NullUuidException - if buffer is null
+     * @throws InvalidUuidBytesCountException - if less than 16 bytes remain in buffer
+     * @throws InvalidUuidVersionException - if bytes are not a version 4 uuid
+     */
+    public static UuidV4 readFrom(final ByteBuffer buffer)
+    {
+        return new UuidV4(Uuid.readFrom(buffer, 4));
     }
 
     @Override
@@ -32,6 +71,18 @@ public final class UuidV4 implements IUuid
         return this.uuid.equals(other);
     }
 
+    @Override
+    public boolean equals(final Object other)
+    {
+        return this.uuid.equals(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.uuid.hashCode();
+    }
+
     @Override
     public int version()
     {
@@ -44,6 +95,18 @@ public final class UuidV4 implements IUuid
         return this.uuid.variant();
     }
 
+    @Override
+    public long mostSignificantBits()
+    {
+        return this.uuid.mostSignificantBits();
+    }
+
+    @Override
+    public long leastSignificantBits()
+    {
+        return this.uuid.leastSignificantBits();
+    }
+
     @Override
     public String toNative()
     {
@@ -55,11 +118,4 @@ public final class UuidV4 implements IUuid
     {
         return this.uuid.toString();
     }
-
-    private static byte[] randomBytes()
-    {
-        final var randomBytes = new byte[16];
-        generator.nextBytes(randomBytes);
-        return randomBytes;
-    }
 }
@@ -0,0 +1,151 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A time-ordered UUID: a millisecond timestamp, then a counter ordering UUIDs made within a same millisecond,
+ * 	then random bits, so that new identities sort after older ones and get appended to indexes
+ *
+ * @see <a href="https://datatracker.ietf.org/doc/html/rfc9562#section-5.7">RFC specifications</a>
+ */
+public final class UuidV7 implements IUuid
+{
+    private static final int COUNTER_BITS = 12;
+
+    /**
+     * The timestamp and counter of the last UUID made, shifted by COUNTER_BITS, so that
+     * 	a full counter carries into the next millisecond
+     */
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    private static final long VERSION_BITS = 0x7000L;
+
+    private static final long RFC_VARIANT_BITS = 0x8000_0000_0000_0000L;
+
+    private static final long VARIANT_MASK = 0xc000_0000_0000_0000L;
+
+    private final Uuid uuid;
+
+    /**
+     * Takes the current time, or the time of the last UUID if the clock didn't move or went back,
+     * 	the counter being incremented instead
+     */
+    public UuidV7()
+    {
+        final long now = System.currentTimeMillis() << COUNTER_BITS;
+        final long timestampAndCounter = lastTimestampAndCounter.accumulateAndGet(
+            now,
+            (last, current) -> Math.max(last + 1, current)
+        );
+
+        final long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        final long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        this.uuid = new Uuid(
+            (timestamp << 16) | VERSION_BITS | counter,
+            (RandomBits.ofCurrentThread().nextLong() & ~VARIANT_MASK) | RFC_VARIANT_BITS
+        );
+    }
+
+    /**
+     * @throws NullUuidException - if uuid is null
+     * @throws InvalidUuidFormatException - if uuid isn't RFC compliant
+     * @throws InvalidUuidVersionException - if uuid is not version 7
+     */
+    public UuidV7(final String uuid)
+    {
+        this(new Uuid(uuid, 7));
+    }
+
+    private UuidV7(final Uuid uuid)
+    {
+        this.uuid = uuid;
+    }
+
+    /**
+     * @return ParseResult<UuidV7> - the uuid, or the failure the constructor would have thrown
+     */
+    public static ParseResult<UuidV7> tryParse(final String uuid)
+    {
+        return Uuid.tryParse(uuid, 7).map(UuidV7::new);
+    }
+
+    /**
+     * Reads the 16 bytes at the buffer position, as written by writeTo(), and moves past them
+     *
+     * @throws NullUuidException - if buffer is null
+     * @throws InvalidUuidBytesCountException - if less than 16 bytes remain in buffer
+     * @throws InvalidUuidVersionException - if bytes are not a version 7 uuid
+     */
+    public static UuidV7 readFrom(final ByteBuffer buffer)
+    {
+        return new UuidV7(Uuid.readFrom(buffer, 7));
+    }
+
+    @Override
+    public boolean equals(final IValueObject other)
+    {
+        return this.uuid.equals(other);
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        return this.uuid.equals(other);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.uuid.hashCode();
+    }
+
+    /**
+     * @return long - the milliseconds since the Unix epoch the UUID was made at
+     */
+    public long timestampMillis()
+    {
+        return this.uuid.mostSignificantBits() >>> 16;
+    }
+
+    @Override
+    public int version()
+    {
+        return 7;
+    }
+
+    @Override
+    public Variant variant()
+    {
+        return this.uuid.variant();
+    }
+
+    @Override
+    public long mostSignificantBits()
+    {
+        return this.uuid.mostSignificantBits();
+    }
+
+    @Override
+    public long leastSignificantBits()
+    {
+        return this.uuid.leastSignificantBits();
+    }
+
+    @Override
+    public String toNative()
+    {
+        return this.uuid.toNative();
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.uuid.toString();
+    }
+}
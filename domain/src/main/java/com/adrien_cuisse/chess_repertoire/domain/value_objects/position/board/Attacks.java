@@ -0,0 +1,313 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+/**
+ * Precomputed attack tables, giving the squares a piece attacks from a square
+ *
+ * Sliding pieces use magic bitboards: the blockers relevant to a square are multiplied by a magic
+ * 	number, whose top bits index the attacks precomputed for those blockers
+ *
+ * @see <a href="https://www.chessprogramming.org/Magic_Bitboards">Magic bitboards</a>
+ */
+public final class Attacks
+{
+	/**
+	 * Found by trying sparse random numbers until none of the blockers of a square collide,
+	 * 	searching them on every class loading being far too slow
+	 */
+	private static final long[] ROOK_MAGIC_NUMBERS = {
+		0x0080_0018_8020_4002L, 0xc040_2000_1000_4000L, 0x0880_0810_0081_2002L, 0x2080_0800_0480_1000L,
+		0x6600_1008_0402_0020L, 0x0b00_2400_0100_0248L, 0x0c80_4200_0100_0080L, 0x8280_0142_2100_1480L,
+		0x0102_0020_4208_8100L, 0x0002_0040_2100_8a00L, 0x0000_8080_2000_1000L, 0x1162_0008_1020_4200L,
+		0x8000_8080_0800_0400L, 0x0210_8004_0002_0080L, 0x0004_0028_0152_4410L, 0x0042_0000_8200_4401L,
+		0x0012_4100_210c_8001L, 0x1410_00c0_0040_2000L, 0x8000_8080_1000_2001L, 0x0320_0900_1000_2100L,
+		0x0008_0040_0402_0040L, 0x0014_0040_0201_0040L, 0x2040_0400_1081_4218L, 0x0020_0200_0104_7084L,
+		0x2020_4000_8000_2090L, 0x0842_0102_0040_8021L, 0xc040_2001_0011_0040L, 0x0190_0400_4040_0800L,
+		0x0028_4401_8028_0080L, 0x0a02_0400_8080_0200L, 0x0000_3004_0001_c208L, 0x0000_80aa_0011_0044L,
+		0x00c0_4000_2480_0080L, 0x3800_4000_8480_2010L, 0x002e_4020_0100_1108L, 0x0210_0400_4040_0800L,
+		0x2140_1008_0100_0500L, 0x0092_0080_0280_1400L, 0x0009_0004_0500_0600L, 0x6001_0004_4100_2882L,
+		0x0480_4000_2092_8002L, 0x0220_1000_4000_4020L, 0x52d0_0080_2000_8019L, 0x0002_0010_4022_0008L,
+		0x4818_0004_0200_4040L, 0x0002_0010_0802_0004L, 0x2000_0122_3004_0088L, 0x1048_2080_4402_0001L,
+		0x0460_2080_0040_0080L, 0x0521_4004_3981_0100L, 0x4820_0480_2010_0480L, 0x1002_8821_1005_0100L,
+		0x0024_0800_0400_8080L, 0x0002_0004_0080_0280L, 0x0400_0142_1008_a400L, 0x0000_0104_0080_4200L,
+		0x0880_0280_4012_2101L, 0x6041_0080_1220_400bL, 0x0080_4010_0a00_8022L, 0x0004_2008_1000_0501L,
+		0x0121_0004_0210_0801L, 0x0001_000a_0804_0003L, 0x0042_000c_0308_6082L, 0x003c_0040_2401_0882L,
+	};
+
+	private static final long[] BISHOP_MAGIC_NUMBERS = {
+		0x4018_1008_9a00_4200L, 0x0350_1062_4040_4010L, 0x0821_0104_2482_0002L, 0x0264_0410_8201_0a00L,
+		0x8182_1210_2000_0004L, 0x0010_9010_4848_0000L, 0x2004_0488_480a_0040L, 0x4c0e_0024_0402_0807L,
+		0x0002_0820_8800_9100L, 0x0005_1001_0244_0c40L, 0x4003_1001_1226_a451L, 0x2100_e904_0100_0051L,
+		0x4000_0110_4000_2030L, 0x0000_0928_2010_0022L, 0x8200_0054_1005_1004L, 0x0080_8021_2802_1080L,
+		0x0040_0820_8404_3080L, 0x8485_0060_140c_1042L, 0x1808_0004_0044_0008L, 0x0402_0044_2022_0028L,
+		0x0002_8104_00a0_5002L, 0x2100_2002_0084_2000L, 0x0900_4a04_8410_0800L, 0x8408_8001_0400_a200L,
+		0x00b0_101a_4004_2148L, 0x4142_1024_0801_0841L, 0x0068_2400_0218_0200L, 0x0238_0800_8820_2020L,
+		0x2801_0010_0100_4010L, 0x6010_0f00_0880_4104L, 0x3018_1202_8042_0280L, 0x0204_0900_0844_4230L,
+		0x8010_0222_4888_0802L, 0xd441_0442_0511_1010L, 0x21a3_4402_00c0_4601L, 0x0000_0200_8008_0080L,
+		0x48c0_0100_1001_0040L, 0x0084_1006_80a0_4800L, 0x0048_8204_0008_4120L, 0x0021_0400_3001_0501L,
+		0x3000_9008_0a00_2000L, 0x0484_150c_2248_3082L, 0x300b_0108_0202_0101L, 0x18b4_0201_2200_3c00L,
+		0x1000_4008_1600_1440L, 0x0042_0810_00e3_1101L, 0x0020_1204_047a_1100L, 0x0d10_8120_4500_8080L,
+		0x0049_0090_5008_8020L, 0x0880_8410_c210_0002L, 0x0000_0100_4110_0002L, 0x00a8_0018_4202_1001L,
+		0x0822_4020_2204_8600L, 0x0200_8830_9088_8009L, 0x0220_0234_0804_8000L, 0x0210_0202_004a_0008L,
+		0x0031_8608_0919_0800L, 0x4102_6100_8210_0228L, 0x3242_0001_0b88_2424L, 0x0042_00c0_0884_0404L,
+		0x0680_8084_0810_2411L, 0x0200_0240_0204_0108L, 0x1810_0544_0858_0100L, 0x0008_0820_8084_0100L,
+	};
+
+	/**
+	 * { file delta, rank delta } of each direction, the 4 first ones being straight, the 4 last ones diagonal
+	 */
+	private static final int[][] DIRECTIONS = {
+		{ 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 },
+		{ 1, 1 }, { 1, -1 }, { -1, -1 }, { -1, 1 },
+	};
+
+	private static final int[][] KNIGHT_JUMPS = {
+		{ 1, 2 }, { 2, 1 }, { 2, -1 }, { 1, -2 },
+		{ -1, -2 }, { -2, -1 }, { -2, 1 }, { -1, 2 },
+	};
+
+	private static final long[] KNIGHT_ATTACKS = new long[64];
+
+	private static final long[] KING_ATTACKS = new long[64];
+
+	private static final long[] WHITE_PAWN_ATTACKS = new long[64];
+
+	private static final long[] BLACK_PAWN_ATTACKS = new long[64];
+
+	private static final Magics ROOK_MAGICS = new Magics(ROOK_MAGIC_NUMBERS, 0, 4);
+
+	private static final Magics BISHOP_MAGICS = new Magics(BISHOP_MAGIC_NUMBERS, 4, 8);
+
+	/**
+	 * The squares strictly between 2 squares sharing a line, indexed by 64 * from + to
+	 */
+	private static final long[] BETWEEN = new long[64 * 64];
+
+	/**
+	 * The whole line going through 2 squares sharing a line, indexed by 64 * from + to
+	 */
+	private static final long[] LINES = new long[64 * 64];
+
+	static
+	{
+		for (int square = 0; square < 64; square++)
+		{
+			final int file = square & 7;
+			final int rank = square >>> 3;
+
+			for (final int[] jump : KNIGHT_JUMPS)
+				KNIGHT_ATTACKS[square] |= bit(file + jump[0], rank + jump[1]);
+
+			for (final int[] direction : DIRECTIONS)
+				KING_ATTACKS[square] |= bit(file + direction[0], rank + direction[1]);
+
+			WHITE_PAWN_ATTACKS[square] = bit(file - 1, rank + 1) | bit(file + 1, rank + 1);
+			BLACK_PAWN_ATTACKS[square] = bit(file - 1, rank - 1) | bit(file + 1, rank - 1);
+		}
+
+		ROOK_MAGICS.initialize();
+		BISHOP_MAGICS.initialize();
+
+		for (int from = 0; from < 64; from++)
+		{
+			for (int to = 0; to < 64; to++)
+			{
+				if (from == to)
+					continue;
+
+				final long toBit = 1L << to;
+				final boolean sharesStraightLine = (rook(from, 0) & toBit) != 0;
+				final boolean sharesDiagonal = (bishop(from, 0) & toBit) != 0;
+				final long fromBit = 1L << from;
+
+				if (sharesStraightLine)
+				{
+					BETWEEN[from * 64 + to] = rook(from, toBit) & rook(to, fromBit);
+					LINES[from * 64 + to] = (rook(from, 0) & rook(to, 0)) | fromBit | toBit;
+				}
+				else if (sharesDiagonal)
+				{
+					BETWEEN[from * 64 + to] = bishop(from, toBit) & bishop(to, fromBit);
+					LINES[from * 64 + to] = (bishop(from, 0) & bishop(to, 0)) | fromBit | toBit;
+				}
+			}
+		}
+	}
+
+	private Attacks()
+	{
+	}
+
+	/**
+	 * @param square - from a1 = 0 to h8 = 63
+	 */
+	public static long knight(final int square)
+	{
+		return KNIGHT_ATTACKS[square];
+	}
+
+	public static long king(final int square)
+	{
+		return KING_ATTACKS[square];
+	}
+
+	/**
+	 * @return long - the squares a pawn of the given color takes on, from the given square
+	 */
+	public static long pawn(final boolean isWhite, final int square)
+	{
+		return isWhite ? WHITE_PAWN_ATTACKS[square] : BLACK_PAWN_ATTACKS[square];
+	}
+
+	/**
+	 * @param occupancy - the occupied squares, attacks stopping on the first one met
+	 */
+	public static long bishop(final int square, final long occupancy)
+	{
+		return BISHOP_MAGICS.attacks(square, occupancy);
+	}
+
+	public static long rook(final int square, final long occupancy)
+	{
+		return ROOK_MAGICS.attacks(square, occupancy);
+	}
+
+	public static long queen(final int square, final long occupancy)
+	{
+		return BISHOP_MAGICS.attacks(square, occupancy) | ROOK_MAGICS.attacks(square, occupancy);
+	}
+
+	/**
+	 * @return long - the squares strictly between both squares if they share a line or a diagonal, none otherwise
+	 */
+	public static long between(final int from, final int to)
+	{
+		return BETWEEN[from * 64 + to];
+	}
+
+	/**
+	 * @return long - the whole line or diagonal going through both squares, from edge to edge, none if they don't share one
+	 */
+	public static long line(final int from, final int to)
+	{
+		return LINES[from * 64 + to];
+	}
+
+	private static long bit(final int file, final int rank)
+	{
+		if (file < 0 || file > 7 || rank < 0 || rank > 7)
+			return 0;
+		return 1L << (rank * 8 + file);
+	}
+
+	/**
+	 * The magic numbers of a sliding piece, and the attacks they index, all squares sharing a single table
+	 */
+	private static final class Magics
+	{
+		private final long[] magics;
+
+		private final int firstDirection;
+
+		private final int lastDirection;
+
+		private final long[] masks = new long[64];
+
+		private final int[] shifts = new int[64];
+
+		private final int[] offsets = new int[64];
+
+		private long[] attacks;
+
+		Magics(final long[] magics, final int firstDirection, final int lastDirection)
+		{
+			this.magics = magics;
+			this.firstDirection = firstDirection;
+			this.lastDirection = lastDirection;
+		}
+
+		long attacks(final int square, final long occupancy)
+		{
+			final long index = ((occupancy & this.masks[square]) * this.magics[square]) >>> this.shifts[square];
+			return this.attacks[this.offsets[square] + (int) index];
+		}
+
+		void initialize()
+		{
+			int tableSize = 0;
+			for (int square = 0; square < 64; square++)
+			{
+				this.masks[square] = this.relevantBlockers(square);
+				this.shifts[square] = 64 - Long.bitCount(this.masks[square]);
+				this.offsets[square] = tableSize;
+				tableSize += 1 << Long.bitCount(this.masks[square]);
+			}
+			this.attacks = new long[tableSize];
+
+			for (int square = 0; square < 64; square++)
+			{
+				final long mask = this.masks[square];
+
+				// enumerates every subset of the mask, with the Carry-Rippler trick
+				long blockers = 0;
+				do
+				{
+					final int index = (int) ((blockers * this.magics[square]) >>> this.shifts[square]);
+					this.attacks[this.offsets[square] + index] = this.slowAttacks(square, blockers);
+					blockers = (blockers - mask) & mask;
+				}
+				while (blockers != 0);
+			}
+		}
+
+		/**
+		 * @return long - the squares whose occupancy changes the attacks from the square, edges excluded
+		 * 	as there is nothing behind them
+		 */
+		private long relevantBlockers(final int square)
+		{
+			long mask = 0;
+
+			for (int direction = this.firstDirection; direction < this.lastDirection; direction++)
+			{
+				final int fileDelta = DIRECTIONS[direction][0];
+				final int rankDelta = DIRECTIONS[direction][1];
+				int file = (square & 7) + fileDelta;
+				int rank = (square >>> 3) + rankDelta;
+
+				while (bit(file + fileDelta, rank + rankDelta) != 0)
+				{
+					mask |= bit(file, rank);
+					file += fileDelta;
+					rank += rankDelta;
+				}
+			}
+
+			return mask;
+		}
+
+		private long slowAttacks(final int square, final long occupancy)
+		{
+			long attacks = 0;
+
+			for (int direction = this.firstDirection; direction < this.lastDirection; direction++)
+			{
+				final int fileDelta = DIRECTIONS[direction][0];
+				final int rankDelta = DIRECTIONS[direction][1];
+				int file = (square & 7) + fileDelta;
+				int rank = (square >>> 3) + rankDelta;
+
+				for (long squareBit = bit(file, rank); squareBit != 0; squareBit = bit(file, rank))
+				{
+					attacks |= squareBit;
+					if ((occupancy & squareBit) != 0)
+						break;
+					file += fileDelta;
+					rank += rankDelta;
+				}
+			}
+
+			return attacks;
+		}
+	}
+}
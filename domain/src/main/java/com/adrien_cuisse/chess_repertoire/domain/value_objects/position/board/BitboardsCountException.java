@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+public final class BitboardsCountException extends IllegalArgumentException
+{
+	public BitboardsCountException(final int count)
+	{
+		super("Board requires 12 bitboards, one per piece, got " + count);
+	}
+}
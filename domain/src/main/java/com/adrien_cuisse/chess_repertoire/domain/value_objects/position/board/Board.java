@@ -0,0 +1,419 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A position as 12 bitboards, one per piece, and the game state packed in a single long
+ *
+ * Squares are indexed from a1 = 0 to h8 = 63, rank after rank, so that
+ * 	the square of file f (0 to 7) on rank r (0 to 7) is 8 * r + f
+ */
+public final class Board implements IValueObject, IBoard
+{
+	public static final int WHITE_KING_SIDE_CASTLING = 0b0001;
+
+	public static final int WHITE_QUEEN_SIDE_CASTLING = 0b0010;
+
+	public static final int BLACK_KING_SIDE_CASTLING = 0b0100;
+
+	public static final int BLACK_QUEEN_SIDE_CASTLING = 0b1000;
+
+	public static final int NO_EN_PASSANT_SQUARE = -1;
+
+	public static final int MAX_PLIES_COUNTER = 0xffff;
+
+	private static final int BITBOARDS_COUNT = 12;
+
+	private static final int BLACK_IS_ACTIVE_SHIFT = 0;
+
+	private static final int CASTLING_RIGHTS_SHIFT = 1;
+
+	private static final int EN_PASSANT_SQUARE_SHIFT = 5;
+
+	private static final int PLIES_COUNTER_SHIFT = 12;
+
+	private static final int TURNS_COUNTER_SHIFT = 28;
+
+	private static final long CASTLING_RIGHTS_MASK = 0b1111;
+
+	private static final long EN_PASSANT_SQUARE_MASK = 0b111_1111;
+
+	private static final int NO_EN_PASSANT_SQUARE_BITS = 64;
+
+	private static final long PLIES_COUNTER_MASK = 0xffff;
+
+	private static final long TURNS_COUNTER_MASK = 0x7fff_ffff;
+
+	private final long[] bitboards;
+
+	/**
+	 * bit 0: active player, 0 for white, 1 for black
+	 * bits 1-4: castling rights
+	 * bits 5-11: en-passant square, 64 if none
+	 * bits 12-27: plies counter
+	 * bits 28-58: turns counter
+	 */
+	private final long state;
+
+	private final long zobristKey;
+
+	private final int hashCode;
+
+	/**
+	 * Computed on first use, most boards never being compared to their symmetric ones
+	 */
+	private SymmetryKeys symmetryKeys;
+
+	/**
+	 * @param bitboards - the squares of each piece, indexed by piece ordinal
+	 * @param castlingRights - a combination of the *_CASTLING flags
+	 * @param enPassantSquare - the square behind a pawn which just double-pushed, or NO_EN_PASSANT_SQUARE
+	 *
+	 * @throws NullBitboardsException - if bitboards are null
+	 * @throws BitboardsCountException - if there isn't exactly 1 bitboard per piece
+	 * @throws OverlappingPiecesException - if several pieces are on the same square
+	 * @throws BoardStateException - if castling rights, en-passant square or counters are out of range
+	 */
+	public Board(
+		final long[] bitboards,
+		final boolean whiteIsActive,
+		final int castlingRights,
+		final int enPassantSquare,
+		final int pliesCounter,
+		final int turnsCounter
+	) {
+		if (bitboards == null)
+			throw new NullBitboardsException();
+		if (bitboards.length != BITBOARDS_COUNT)
+			throw new BitboardsCountException(bitboards.length);
+
+		throwIfOverlappingPieces(bitboards);
+
+		if ((castlingRights & ~CASTLING_RIGHTS_MASK) != 0)
+			throw new BoardStateException("castling rights", castlingRights);
+		if (enPassantSquare < NO_EN_PASSANT_SQUARE || enPassantSquare > 63)
+			throw new BoardStateException("en-passant square", enPassantSquare);
+		if (pliesCounter < 0 || pliesCounter > MAX_PLIES_COUNTER)
+			throw new BoardStateException("plies counter", pliesCounter);
+		if (turnsCounter < 1)
+			throw new BoardStateException("turns counter", turnsCounter);
+
+		this.bitboards = bitboards.clone();
+		this.state = packState(whiteIsActive, castlingRights, enPassantSquare, pliesCounter, turnsCounter);
+		this.zobristKey = ZobristKeys.of(this.bitboards, whiteIsActive, castlingRights, enPassantSquare);
+		this.hashCode = Long.hashCode(this.zobristKey ^ this.state);
+	}
+
+	/**
+	 * @return long - the hash of the pieces, active player, castling rights and en-passant square,
+	 * 	counters aren't part of it
+	 */
+	public long zobristKey()
+	{
+		return this.zobristKey;
+	}
+
+	/**
+	 * @return long - the hash identifying the position regardless of how it was reached: same as the
+	 * 	Zobrist key, but the en-passant square is ignored unless a pawn of the active player can take it
+	 */
+	public long positionKey()
+	{
+		final int enPassantSquare = this.enPassantSquare();
+
+		if (enPassantSquare == this.takeableEnPassantSquare())
+			return this.zobristKey;
+
+		return this.zobristKey ^ ZobristKeys.ofEnPassantFile(enPassantSquare & 7);
+	}
+
+	/**
+	 * @return int - the en-passant square if a pawn of the active player can take the pawn which
+	 * 	just double-pushed, else NO_EN_PASSANT_SQUARE
+	 */
+	public int takeableEnPassantSquare()
+	{
+		final int enPassantSquare = this.enPassantSquare();
+
+		if (enPassantSquare == NO_EN_PASSANT_SQUARE || !this.enPassantSquareIsAttacked(enPassantSquare))
+			return NO_EN_PASSANT_SQUARE;
+
+		return enPassantSquare;
+	}
+
+	/**
+	 * @return Board - the same position from the other side: ranks flipped, colors of pieces,
+	 * 	active player and castling rights swapped
+	 */
+	public Board colorFlipped()
+	{
+		return new Board(
+			colorFlipped(this.bitboards),
+			!this.whiteIsActive(),
+			colorFlippedCastlingRights(this.castlingRights()),
+			colorFlippedSquare(this.enPassantSquare()),
+			this.pliesCounter(),
+			this.turnsCounter()
+		);
+	}
+
+	/**
+	 * @return Board - the position mirrored left to right, files a and h swapped, without castling rights
+	 * 	as kings and rooks can't castle from mirrored squares
+	 */
+	public Board mirrored()
+	{
+		return new Board(
+			mirrored(this.bitboards),
+			this.whiteIsActive(),
+			0,
+			mirroredSquare(this.enPassantSquare()),
+			this.pliesCounter(),
+			this.turnsCounter()
+		);
+	}
+
+	/**
+	 * @return long - the same key for a position and its color-flipped one, the smallest of their position keys
+	 */
+	public long colorSymmetryKey()
+	{
+		return this.symmetryKeys().color();
+	}
+
+	/**
+	 * @return long - the same key for a position and its mirrored one, the smallest of their position keys,
+	 * 	castling rights being ignored as mirrored positions can't have any
+	 */
+	public long mirrorSymmetryKey()
+	{
+		return this.symmetryKeys().mirror();
+	}
+
+	@Override
+	public long bitboard(final Piece piece)
+	{
+		return this.bitboards[piece.ordinal()];
+	}
+
+	@Override
+	public long whiteOccupancy()
+	{
+		final long[] bitboards = this.bitboards;
+		return bitboards[0] | bitboards[1] | bitboards[2] | bitboards[3] | bitboards[4] | bitboards[5];
+	}
+
+	@Override
+	public long blackOccupancy()
+	{
+		final long[] bitboards = this.bitboards;
+		return bitboards[6] | bitboards[7] | bitboards[8] | bitboards[9] | bitboards[10] | bitboards[11];
+	}
+
+	/**
+	 * @param square - from a1 = 0 to h8 = 63
+	 */
+	public Optional<Piece> pieceAt(final int square)
+	{
+		final long squareBit = 1L << square;
+
+		for (int index = 0; index < BITBOARDS_COUNT; index++)
+		{
+			if ((this.bitboards[index] & squareBit) != 0)
+				return Optional.of(Piece.fromIndex(index));
+		}
+
+		return Optional.empty();
+	}
+
+	@Override
+	public boolean whiteIsActive()
+	{
+		return ((this.state >>> BLACK_IS_ACTIVE_SHIFT) & 1) == 0;
+	}
+
+	@Override
+	public int castlingRights()
+	{
+		return (int) ((this.state >>> CASTLING_RIGHTS_SHIFT) & CASTLING_RIGHTS_MASK);
+	}
+
+	@Override
+	public int enPassantSquare()
+	{
+		final int square = (int) ((this.state >>> EN_PASSANT_SQUARE_SHIFT) & EN_PASSANT_SQUARE_MASK);
+		return square == NO_EN_PASSANT_SQUARE_BITS ? NO_EN_PASSANT_SQUARE : square;
+	}
+
+	public int pliesCounter()
+	{
+		return (int) ((this.state >>> PLIES_COUNTER_SHIFT) & PLIES_COUNTER_MASK);
+	}
+
+	public int turnsCounter()
+	{
+		return (int) ((this.state >>> TURNS_COUNTER_SHIFT) & TURNS_COUNTER_MASK);
+	}
+
+	@Override
+	public boolean equals(final IValueObject other)
+	{
+		if (other instanceof Board otherInstance)
+		{
+			return this.zobristKey == otherInstance.zobristKey
+				&& this.state == otherInstance.state
+				&& Arrays.equals(this.bitboards, otherInstance.bitboards);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean equals(final Object other)
+	{
+		return other instanceof IValueObject valueObject && this.equals(valueObject);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return this.hashCode;
+	}
+
+	/**
+	 * Hashes the transformed bitboards straight away rather than building the transformed boards,
+	 * 	the en-passant square being takeable in a transformed position if and only if it is in this one
+	 */
+	private SymmetryKeys symmetryKeys()
+	{
+		SymmetryKeys symmetryKeys = this.symmetryKeys;
+
+		if (symmetryKeys == null)
+		{
+			final long positionKey = this.positionKey();
+			final boolean whiteIsActive = this.whiteIsActive();
+			final int castlingRights = this.castlingRights();
+			final int enPassantSquare = this.takeableEnPassantSquare();
+
+			final long colorFlippedKey = ZobristKeys.of(
+				colorFlipped(this.bitboards),
+				!whiteIsActive,
+				colorFlippedCastlingRights(castlingRights),
+				colorFlippedSquare(enPassantSquare)
+			);
+			final long mirroredKey = ZobristKeys.of(
+				mirrored(this.bitboards),
+				whiteIsActive,
+				0,
+				mirroredSquare(enPassantSquare)
+			);
+			final long withoutCastlingRights = positionKey
+				^ ZobristKeys.ofCastlingRights(castlingRights)
+				^ ZobristKeys.ofCastlingRights(0);
+
+			symmetryKeys = new SymmetryKeys(
+				Math.min(positionKey, colorFlippedKey),
+				Math.min(withoutCastlingRights, mirroredKey)
+			);
+			this.symmetryKeys = symmetryKeys;
+		}
+
+		return symmetryKeys;
+	}
+
+	private boolean enPassantSquareIsAttacked(final int enPassantSquare)
+	{
+		final int file = enPassantSquare & 7;
+		final int rank = enPassantSquare >>> 3;
+		final boolean whiteIsActive = this.whiteIsActive();
+
+		if (rank != (whiteIsActive ? 5 : 2))
+			return false;
+
+		final int pawnsRankOffset = whiteIsActive ? -8 : 8;
+		long attackers = 0;
+		if (file > 0)
+			attackers |= 1L << (enPassantSquare + pawnsRankOffset - 1);
+		if (file < 7)
+			attackers |= 1L << (enPassantSquare + pawnsRankOffset + 1);
+
+		final Piece activePawn = whiteIsActive ? Piece.WHITE_PAWN : Piece.BLACK_PAWN;
+		return (this.bitboard(activePawn) & attackers) != 0;
+	}
+
+	private static long[] colorFlipped(final long[] bitboards)
+	{
+		final var flipped = new long[BITBOARDS_COUNT];
+		final int colorOffset = Piece.BLACK_PAWN.ordinal();
+		for (int index = 0; index < colorOffset; index++)
+		{
+			flipped[index] = Long.reverseBytes(bitboards[index + colorOffset]);
+			flipped[index + colorOffset] = Long.reverseBytes(bitboards[index]);
+		}
+		return flipped;
+	}
+
+	private static int colorFlippedCastlingRights(final int castlingRights)
+	{
+		return (castlingRights >>> 2) | ((castlingRights & 0b11) << 2);
+	}
+
+	private static int colorFlippedSquare(final int square)
+	{
+		return square == NO_EN_PASSANT_SQUARE ? NO_EN_PASSANT_SQUARE : square ^ 56;
+	}
+
+	private static long[] mirrored(final long[] bitboards)
+	{
+		final var mirrored = new long[BITBOARDS_COUNT];
+		for (int index = 0; index < BITBOARDS_COUNT; index++)
+			mirrored[index] = Long.reverseBytes(Long.reverse(bitboards[index]));
+		return mirrored;
+	}
+
+	private static int mirroredSquare(final int square)
+	{
+		return square == NO_EN_PASSANT_SQUARE ? NO_EN_PASSANT_SQUARE : square ^ 7;
+	}
+
+	private static void throwIfOverlappingPieces(final long[] bitboards)
+	{
+		long occupied = 0;
+		long overlapping = 0;
+
+		for (final long bitboard : bitboards)
+		{
+			overlapping |= occupied & bitboard;
+			occupied |= bitboard;
+		}
+
+		if (overlapping != 0)
+			throw new OverlappingPiecesException(overlapping);
+	}
+
+	private static long packState(
+		final boolean whiteIsActive,
+		final int castlingRights,
+		final int enPassantSquare,
+		final int pliesCounter,
+		final int turnsCounter
+	) {
+		final long enPassantBits = enPassantSquare == NO_EN_PASSANT_SQUARE ? NO_EN_PASSANT_SQUARE_BITS : enPassantSquare;
+
+		return ((whiteIsActive ? 0L : 1L) << BLACK_IS_ACTIVE_SHIFT)
+			| ((long) castlingRights << CASTLING_RIGHTS_SHIFT)
+			| (enPassantBits << EN_PASSANT_SQUARE_SHIFT)
+			| ((long) pliesCounter << PLIES_COUNTER_SHIFT)
+			| ((long) turnsCounter << TURNS_COUNTER_SHIFT);
+	}
+
+	/**
+	 * Final fields, so that a board shared between threads never sees half-built keys
+	 */
+	private record SymmetryKeys(long color, long mirror)
+	{
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+public final class BoardStateException extends IllegalArgumentException
+{
+	public BoardStateException(final String field, final int value)
+	{
+		super("Board has an invalid " + field + ", got " + value);
+	}
+}
@@ -0,0 +1,64 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+/**
+ * Read access to the pieces and game state, whether the position is immutable or being played on
+ *
+ * Squares are indexed from a1 = 0 to h8 = 63
+ */
+public interface IBoard
+{
+	/**
+	 * @return long - the squares occupied by the piece
+	 */
+	long bitboard(final Piece piece);
+
+	long whiteOccupancy();
+
+	long blackOccupancy();
+
+	default long occupancy()
+	{
+		return this.whiteOccupancy() | this.blackOccupancy();
+	}
+
+	boolean whiteIsActive();
+
+	/**
+	 * @return int - a combination of the Board.*_CASTLING flags
+	 */
+	int castlingRights();
+
+	/**
+	 * @return int - the square behind a pawn which just double-pushed, or Board.NO_EN_PASSANT_SQUARE
+	 */
+	int enPassantSquare();
+
+	/**
+	 * @return int - the square of the king of the given color, or 64 if there is none
+	 */
+	default int kingSquare(final boolean isWhite)
+	{
+		return Long.numberOfTrailingZeros(this.bitboard(isWhite ? Piece.WHITE_KING : Piece.BLACK_KING));
+	}
+
+	/**
+	 * @param byWhite - true to check attacks of white pieces, false for black ones
+	 */
+	default boolean isAttacked(final int square, final boolean byWhite)
+	{
+		final Piece pawn = byWhite ? Piece.WHITE_PAWN : Piece.BLACK_PAWN;
+		final Piece knight = byWhite ? Piece.WHITE_KNIGHT : Piece.BLACK_KNIGHT;
+		final Piece bishop = byWhite ? Piece.WHITE_BISHOP : Piece.BLACK_BISHOP;
+		final Piece rook = byWhite ? Piece.WHITE_ROOK : Piece.BLACK_ROOK;
+		final Piece queen = byWhite ? Piece.WHITE_QUEEN : Piece.BLACK_QUEEN;
+		final Piece king = byWhite ? Piece.WHITE_KING : Piece.BLACK_KING;
+		final long occupancy = this.occupancy();
+
+		return (Attacks.pawn(!byWhite, square) & this.bitboard(pawn)) != 0
+			|| (Attacks.knight(square) & this.bitboard(knight)) != 0
+			|| (Attacks.king(square) & this.bitboard(king)) != 0
+			|| (Attacks.bishop(square, occupancy) & (this.bitboard(bishop) | this.bitboard(queen))) != 0
+			|| (Attacks.rook(square, occupancy) & (this.bitboard(rook) | this.bitboard(queen))) != 0;
+	}
+}
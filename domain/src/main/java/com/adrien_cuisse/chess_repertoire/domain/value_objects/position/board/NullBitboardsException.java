@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+public final class NullBitboardsException extends IllegalArgumentException
+{
+	public NullBitboardsException()
+	{
+		super("Bitboards are null");
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+public final class OverlappingPiecesException extends IllegalArgumentException
+{
+	public OverlappingPiecesException(final long overlappingSquares)
+	{
+		super(String.format("Board can't have several pieces on a square, got overlapping squares 0x%016x", overlappingSquares));
+	}
+}
@@ -0,0 +1,82 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+/**
+ * A chessman, its ordinal being the index of its bitboard
+ */
+public enum Piece
+{
+	WHITE_PAWN('P'),
+	WHITE_KNIGHT('N'),
+	WHITE_BISHOP('B'),
+	WHITE_ROOK('R'),
+	WHITE_QUEEN('Q'),
+	WHITE_KING('K'),
+	BLACK_PAWN('p'),
+	BLACK_KNIGHT('n'),
+	BLACK_BISHOP('b'),
+	BLACK_ROOK('r'),
+	BLACK_QUEEN('q'),
+	BLACK_KING('k');
+
+	private static final Piece[] PIECES = values();
+
+	private final char letter;
+
+	Piece(final char letter)
+	{
+		this.letter = letter;
+	}
+
+	/**
+	 * @return char - the FEN letter of the piece, uppercase for white
+	 */
+	public final char letter()
+	{
+		return this.letter;
+	}
+
+	public final boolean isWhite()
+	{
+		return this.ordinal() < BLACK_PAWN.ordinal();
+	}
+
+	/**
+	 * @return Piece - the piece of the same kind, of the other color
+	 */
+	public final Piece opponent()
+	{
+		return PIECES[(this.ordinal() + 6) % 12];
+	}
+
+	/**
+	 * @return Piece - the matching piece, or null if the letter isn't one of [PNBRQKpnbrqk]
+	 */
+	public static Piece fromLetter(final char letter)
+	{
+		return switch (letter)
+		{
+			case 'P' -> WHITE_PAWN;
+			case 'N' -> WHITE_KNIGHT;
+			case 'B' -> WHITE_BISHOP;
+			case 'R' -> WHITE_ROOK;
+			case 'Q' -> WHITE_QUEEN;
+			case 'K' -> WHITE_KING;
+			case 'p' -> BLACK_PAWN;
+			case 'n' -> BLACK_KNIGHT;
+			case 'b' -> BLACK_BISHOP;
+			case 'r' -> BLACK_ROOK;
+			case 'q' -> BLACK_QUEEN;
+			case 'k' -> BLACK_KING;
+			default -> null;
+		};
+	}
+
+	/**
+	 * @param index - the ordinal of the piece, which is also the index of its bitboard
+	 */
+	public static Piece fromIndex(final int index)
+	{
+		return PIECES[index];
+	}
+}
@@ -0,0 +1,130 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+/**
+ * Random keys to xor together to get a 64-bit hash of a position, which can be updated incrementally
+ *
+ * Keys are generated from a fixed seed, as hashes may be persisted: changing the seed or the
+ * 	generation order invalidates every stored hash
+ *
+ * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing">Zobrist hashing</a>
+ */
+public final class ZobristKeys
+{
+	private static final long SEED = 0x6368_6573_735f_7265L;
+
+	private static final long[] PIECES_ON_SQUARES = new long[12 * 64];
+
+	private static final long[] CASTLING_RIGHTS = new long[16];
+
+	private static final long[] EN_PASSANT_FILES = new long[8];
+
+	private static final long BLACK_IS_ACTIVE;
+
+	static
+	{
+		final var generator = new SplitMix64(SEED);
+
+		for (int index = 0; index < PIECES_ON_SQUARES.length; index++)
+			PIECES_ON_SQUARES[index] = generator.next();
+
+		final long[] singleCastlingRights = new long[4];
+		for (int index = 0; index < singleCastlingRights.length; index++)
+			singleCastlingRights[index] = generator.next();
+
+		for (int rights = 0; rights < CASTLING_RIGHTS.length; rights++)
+		{
+			for (int index = 0; index < singleCastlingRights.length; index++)
+			{
+				if ((rights & (1 << index)) != 0)
+					CASTLING_RIGHTS[rights] ^= singleCastlingRights[index];
+			}
+		}
+
+		for (int file = 0; file < EN_PASSANT_FILES.length; file++)
+			EN_PASSANT_FILES[file] = generator.next();
+
+		BLACK_IS_ACTIVE = generator.next();
+	}
+
+	private ZobristKeys()
+	{
+	}
+
+	/**
+	 * @param square - from a1 = 0 to h8 = 63
+	 */
+	public static long ofPiece(final Piece piece, final int square)
+	{
+		return PIECES_ON_SQUARES[(piece.ordinal() << 6) | square];
+	}
+
+	/**
+	 * @param castlingRights - a combination of Board.*_CASTLING flags
+	 */
+	public static long ofCastlingRights(final int castlingRights)
+	{
+		return CASTLING_RIGHTS[castlingRights];
+	}
+
+	/**
+	 * @param file - from a = 0 to h = 7
+	 */
+	public static long ofEnPassantFile(final int file)
+	{
+		return EN_PASSANT_FILES[file];
+	}
+
+	public static long ofBlackIsActive()
+	{
+		return BLACK_IS_ACTIVE;
+	}
+
+	/**
+	 * @return long - the hash of the pieces, active player, castling rights and en-passant square,
+	 * 	counters aren't part of it
+	 */
+	static long of(final long[] bitboards, final boolean whiteIsActive, final int castlingRights, final int enPassantSquare)
+	{
+		long key = 0;
+
+		for (int piece = 0; piece < bitboards.length; piece++)
+		{
+			for (long squares = bitboards[piece]; squares != 0; squares &= squares - 1)
+				key ^= PIECES_ON_SQUARES[(piece << 6) | Long.numberOfTrailingZeros(squares)];
+		}
+
+		key ^= CASTLING_RIGHTS[castlingRights];
+
+		if (enPassantSquare != Board.NO_EN_PASSANT_SQUARE)
+			key ^= EN_PASSANT_FILES[enPassantSquare & 7];
+
+		if (!whiteIsActive)
+			key ^= BLACK_IS_ACTIVE;
+
+		return key;
+	}
+
+	/**
+	 * Deterministic generator, so that keys are the same on every run
+	 *
+	 * @see <a href="https://prng.di.unimi.it/splitmix64.c">SplitMix64</a>
+	 */
+	private static final class SplitMix64
+	{
+		private long state;
+
+		SplitMix64(final long seed)
+		{
+			this.state = seed;
+		}
+
+		long next()
+		{
+			long mixed = (this.state += 0x9e37_79b9_7f4a_7c15L);
+			mixed = (mixed ^ (mixed >>> 30)) * 0xbf58_476d_1ce4_e5b9L;
+			mixed = (mixed ^ (mixed >>> 27)) * 0x94d0_49bb_1331_11ebL;
+			return mixed ^ (mixed >>> 31);
+		}
+	}
+}
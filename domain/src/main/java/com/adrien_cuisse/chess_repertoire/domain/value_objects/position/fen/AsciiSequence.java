@@ -0,0 +1,55 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A window over ASCII bytes read as characters, moved from line to line so that bytes
+ * 	are parsed where they are, without being decoded into a string first
+ */
+final class AsciiSequence implements CharSequence
+{
+	private ByteBuffer bytes;
+
+	private int offset;
+
+	private int length;
+
+	/**
+	 * @return AsciiSequence - this sequence, now reading length bytes from offset
+	 */
+	AsciiSequence reset(final ByteBuffer bytes, final int offset, final int length)
+	{
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+		return this;
+	}
+
+	@Override
+	public int length()
+	{
+		return this.length;
+	}
+
+	@Override
+	public char charAt(final int index)
+	{
+		return (char) (this.bytes.get(this.offset + index) & 0xff);
+	}
+
+	@Override
+	public CharSequence subSequence(final int start, final int end)
+	{
+		return new AsciiSequence().reset(this.bytes, this.offset + start, end - start);
+	}
+
+	@Override
+	public String toString()
+	{
+		final var characters = new char[this.length];
+		for (int index = 0; index < this.length; index++)
+			characters[index] = this.charAt(index);
+		return new String(characters);
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+public final class EncodedFenLengthException extends IllegalArgumentException
+{
+	public EncodedFenLengthException(final int expectedLength, final int length)
+	{
+		super("Encoded fen must have " + expectedLength + " bytes for the pieces on its board, got " + length);
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+public final class EncodedPaddingException extends IllegalArgumentException
+{
+	public EncodedPaddingException(final int padding)
+	{
+		super("Encoded fen must end with an empty nibble after an odd count of pieces, got " + padding);
+	}
+}
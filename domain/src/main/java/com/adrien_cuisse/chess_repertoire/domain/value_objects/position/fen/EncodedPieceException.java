@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+public final class EncodedPieceException extends IllegalArgumentException
+{
+	public EncodedPieceException(final int code, final int square)
+	{
+		super("Encoded fen has an invalid piece code " + code + " on square " + square);
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+public final class EncodedStateException extends IllegalArgumentException
+{
+	public EncodedStateException(final int state)
+	{
+		super("Encoded fen has unused bits set in its state byte " + Integer.toBinaryString(state));
+	}
+}
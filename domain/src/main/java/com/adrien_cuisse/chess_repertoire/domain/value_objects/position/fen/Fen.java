@@ -2,34 +2,23 @@
 package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Optional;
 
 public final class Fen implements IValueObject
 {
-	private static final Pattern EMPTY_SQUARES_DIGIT_PATTERN = Pattern.compile("([1-8])");
-
-	private static final int RANKS_INDEX = 0;
-
-	private static final int ACTIVE_PLAYER_INDEX = 1;
-
-	private static final int CASTLING_POSSIBILITIES_INDEX = 2;
-
-	private static final int EN_PASSANT_SQUARE_INDEX = 3;
-
-	private static final int PLIES_COUNTER_INDEX = 4;
-
-	private static final int TURNS_COUNTER_INDEX = 5;
-
-	private static final int BLACK_PIECES_RANK_INDEX = 0;
-
-	private static final int WHITE_PIECES_RANK_INDEX = 7;
-
-	private static final char KING_FILE = 'e';
+	private static final ParseFailure NULL_FAILURE = new ParseFailure(NullFenException.class, NullFenException::new);
 
 	private final String fen;
 
+	private final Board board;
+
 	/**
 	 * @throws NullFenException - if fen is null
 	 * @throws PartsCountException - if fen is not made of 6 space-delimited parts
@@ -44,192 +33,226 @@ public final class Fen implements IValueObject
 	 * @throws ConflictingCastlingException - if castling possibilities are conflicting with
 	 * 	rooks or kings moves
 	 * @throws EnPassantSquareException - if part 4 is not a valid lower square label, or '-' if none
-	 * @throws PliesCounterException - if part 5 isn't an integer >= 0
-	 * @throws TurnsCounterException - if part 6 isn't an integer > 0
+	 * @throws PliesCounterException - if part 5 isn't an integer >= 0, up to 65535
+	 * @throws TurnsCounterException - if part 6 isn't an integer > 0, up to 2^31 - 1
 	 */
 	public Fen(final String fen)
 	{
-		if (fen == null)
-			throw new NullFenException();
+		this(checkedParser(fen));
+	}
 
-		this.fen = fen.replaceAll("\\s+", " ").trim();
-		final String[] parts = this.fen.split(" ");
+	/**
+	 * @param parser - a parser which succeeded
+	 */
+	Fen(final FenParser parser)
+	{
+		this.fen = parser.normalizedFen();
+		this.board = parser.board();
+	}
 
-		throwIfPartsCount(parts);
-		throwIfMissingKings(parts[RANKS_INDEX]);
+	/**
+	 * Parses a fen without throwing, failures being described without any stack trace
+	 *
+	 * @return ParseResult<Fen> - the fen, or the failure the constructor would have thrown
+	 */
+	public static ParseResult<Fen> tryParse(final String fen)
+	{
+		if (fen == null)
+			return ParseResult.invalid(NULL_FAILURE);
 
-		final String[] ranks = parts[RANKS_INDEX].split("/");
+		final var parser = new FenParser(fen);
+		if (!parser.succeeded())
+			return ParseResult.invalid(parser.parseFailure());
 
-		throwIfInvalidRanksCount(ranks);
-		throwInInvalidRanks(ranks);
-		throwIfInvalidActivePlayer(parts[ACTIVE_PLAYER_INDEX]);
-		throwIfInvalidCastlingPossibilities(parts[CASTLING_POSSIBILITIES_INDEX]);
-		throwIfConflictingBlackCastling(parts[CASTLING_POSSIBILITIES_INDEX], ranks);
-		throwIfConflictingWhiteCastling(parts[CASTLING_POSSIBILITIES_INDEX], ranks);
-		throwIfInvalidEnPassantSquare(parts[EN_PASSANT_SQUARE_INDEX]);
-		throwIfInvalidPliesCounter(parts[PLIES_COUNTER_INDEX]);
-		throwIfInvalidTurnsCounter(parts[TURNS_COUNTER_INDEX]);
+		return ParseResult.valid(new Fen(parser));
 	}
 
-	@Override
-	public boolean equals(IValueObject other)
+	/**
+	 * Builds a fen straight from ASCII bytes, such as network or file buffers, without decoding them first
+	 *
+	 * @throws NullFenException - if bytes are null
+	 * @throws IndexOutOfBoundsException - if the range isn't within bytes
+	 * @throws IllegalArgumentException - if the fen is invalid, see the constructor
+	 */
+	public static Fen fromAscii(final byte[] bytes, final int offset, final int length)
 	{
-		if (other instanceof Fen otherInstance)
-			return this.fen.equals(otherInstance.fen);
-		return false;
-	}
+		if (bytes == null)
+			throw new NullFenException();
 
-	public String toString()
-	{
-		return this.fen;
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		return fromAscii(ByteBuffer.wrap(bytes, offset, length));
 	}
 
-	private static void throwIfPartsCount(final String[] parts)
+	/**
+	 * Builds a fen from the ASCII bytes between the position and the limit of the buffer, which are left unchanged
+	 *
+	 * @throws NullFenException - if bytes are null
+	 * @throws IllegalArgumentException - if the fen is invalid, see the constructor
+	 */
+	public static Fen fromAscii(final ByteBuffer bytes)
 	{
-		if (parts.length != 6)
-			throw new PartsCountException(parts.length);
+		if (bytes == null)
+			throw new NullFenException();
+
+		final var parser = new FenParser(new AsciiSequence().reset(bytes, bytes.position(), bytes.remaining()));
+		if (!parser.succeeded())
+			throw parser.failure();
+
+		return new Fen(parser);
 	}
 
-	private static void throwIfMissingKings(final String ranksPart)
+	/**
+	 * @return Fen - the fen describing the board, parsed back so that it gets the same checks as any other fen
+	 *
+	 * @throws IllegalArgumentException - if the board can't be described by a valid fen, see the constructor
+	 */
+	public static Fen of(final Board board)
 	{
-		if (!ranksPart.contains("K"))
-			throw new MissingKingException("white", "K");
-		if (!ranksPart.contains("k"))
-			throw new MissingKingException("black", "k");
+		return new Fen(write(board));
 	}
 
-	private static void throwIfInvalidRanksCount(final String[] ranks)
+	/**
+	 * @return Board - the bitboards and game state described by the fen
+	 */
+	public Board board()
 	{
-		if (ranks.length != 8)
-			throw new RanksCountException(ranks.length);
+		return this.board;
 	}
 
-	private static void throwInInvalidRanks(final String[] ranks)
+	/**
+	 * @return long - the Zobrist hash of the position, computed once, ignoring counters
+	 */
+	public long zobristKey()
 	{
-		for (final String rank : ranks)
-			throwIfInvalidRank(rank);
+		return this.board.zobristKey();
 	}
 
-	private static void throwIfInvalidRank(final String rank)
+	/**
+	 * @return long - the key identifying the position however it was reached, ignoring counters
+	 * 	and en-passant squares which can't be taken
+	 */
+	public long positionKey()
 	{
-		if (rank.matches(".*[^1-8RNBQKrnbqkPp].*"))
-			throw new RankException(rank);
-		if (rank.matches("[1-8]{2,}"))
-			throw new RankException(rank);
-
-		final int length = rankLength(rank);
-		if (length != 8)
-			throw new RankLengthException(length);
+		return this.board.positionKey();
 	}
 
-	private static int rankLength(final String rank)
+	/**
+	 * @return String - the first 4 parts of the fen, keeping the en-passant square only if it can be taken:
+	 * 	what the position key stands for, to tell apart the positions which share a key
+	 */
+	public String positionFen()
 	{
-		int length = 0;
-
-		final Matcher emptySquaresDigit = EMPTY_SQUARES_DIGIT_PATTERN.matcher(rank);
-		while (emptySquaresDigit.find())
-			length += Integer.parseInt(emptySquaresDigit.group());
+		final int turnsCounterStart = this.fen.lastIndexOf(' ');
+		final int pliesCounterStart = this.fen.lastIndexOf(' ', turnsCounterStart - 1);
 
-		length += rank.replaceAll("[^RNBQKrnbqkPp]", "").length();
+		if (this.board.enPassantSquare() == this.board.takeableEnPassantSquare())
+			return this.fen.substring(0, pliesCounterStart);
 
-		return length;
+		final int enPassantSquareStart = this.fen.lastIndexOf(' ', pliesCounterStart - 1);
+		return this.fen.substring(0, enPassantSquareStart) + " -";
 	}
 
-	private static void throwIfInvalidActivePlayer(final String activePlayer)
+	/**
+	 * @return long - the key shared by the position and the same one with colors reversed
+	 */
+	public long colorSymmetryKey()
 	{
-		if (!activePlayer.equals("w") && !activePlayer.equals("b"))
-			throw new ActivePlayerException(activePlayer);
+		return this.board.colorSymmetryKey();
 	}
 
-	private static void throwIfInvalidCastlingPossibilities(final String castlingPossibilities)
+	/**
+	 * @return long - the key shared by the position and the same one mirrored left to right, ignoring castling rights
+	 */
+	public long mirrorSymmetryKey()
 	{
-		if (!castlingPossibilities.matches("^(-)|(K?Q?k?q?)$"))
-			throw new CastlingException(castlingPossibilities);
+		return this.board.mirrorSymmetryKey();
 	}
 
-	private static void throwIfConflictingBlackCastling(final String possibilities, final String[] ranks)
+	@Override
+	public boolean equals(IValueObject other)
 	{
-		final boolean queenSidePossibility = possibilities.contains("q");
-		final boolean kingSidePossibility = possibilities.contains("k");
-
-		final boolean hasPossibility = queenSidePossibility || kingSidePossibility;
-		if (!hasPossibility)
-			return;
+		if (other instanceof Fen otherInstance)
+			return this.board.equals(otherInstance.board);
+		return false;
+	}
 
-		final boolean kingMoved = !kingSquareContent(ranks[BLACK_PIECES_RANK_INDEX]).equals("k");
-		if (kingMoved)
-			throw new ConflictingCastlingException("black", "player", "king", "" + KING_FILE + BLACK_PIECES_RANK_INDEX);
+	@Override
+	public boolean equals(final Object other)
+	{
+		return other instanceof IValueObject valueObject && this.equals(valueObject);
+	}
 
-		final char[] pieces = ranks[BLACK_PIECES_RANK_INDEX].toCharArray();
-		if (queenSidePossibility && pieces[0] != 'r')
-			throw new ConflictingCastlingException("black", "queen side", "rook", "a8");
-		if (kingSidePossibility && pieces[pieces.length - 1] != 'r')
-			throw new ConflictingCastlingException("black", "king side", "rook", "h8");
+	@Override
+	public int hashCode()
+	{
+		return this.board.hashCode();
 	}
 
-	private static void throwIfConflictingWhiteCastling(final String possibilities, final String[] ranks)
+	public String toString()
 	{
-		final boolean queenSidePossibility = possibilities.contains("Q");
-		final boolean kingSidePossibility = possibilities.contains("K");
+		return this.fen;
+	}
 
-		final boolean hasPossibility = queenSidePossibility || kingSidePossibility;
-		if (!hasPossibility)
-			return;
+	private static FenParser checkedParser(final String fen)
+	{
+		if (fen == null)
+			throw new NullFenException();
 
-		final boolean kingMoved = !kingSquareContent(ranks[WHITE_PIECES_RANK_INDEX]).equals("K");
-		if (kingMoved)
-			throw new ConflictingCastlingException("white", "player", "king", "" + KING_FILE + WHITE_PIECES_RANK_INDEX);
+		final var parser = new FenParser(fen);
+		if (!parser.succeeded())
+			throw parser.failure();
 
-		final char[] pieces = ranks[WHITE_PIECES_RANK_INDEX].toCharArray();
-		if (queenSidePossibility && pieces[0] != 'R')
-			throw new ConflictingCastlingException("white", "queen side", "rook", "a1");
-		if (kingSidePossibility && pieces[pieces.length - 1] != 'R')
-			throw new ConflictingCastlingException("white", "king side", "rook", "h1");
+		return parser;
 	}
 
-	private static String kingSquareContent(final String rank)
+	private static String write(final Board board)
 	{
-		int file = 'a';
+		final var fen = new StringBuilder(90);
 
-		String content = "";
-
-		for (final String piece : rank.split(""))
+		for (int rank = 7; rank >= 0; rank--)
 		{
-			final boolean isChessman = "RNBQKrnbqk".contains(piece);
-
-			if (file >= 'e')
+			int emptySquares = 0;
+			for (int file = 0; file < 8; file++)
 			{
-				if (isChessman)
-					content = piece;
+				final Optional<Piece> piece = board.pieceAt(rank * 8 + file);
+				if (piece.isEmpty())
+					emptySquares++;
 				else
-					content = " ";
-				break;
+				{
+					if (emptySquares > 0)
+						fen.append(emptySquares);
+					emptySquares = 0;
+					fen.append(piece.get().letter());
+				}
 			}
-
-			if (isChessman)
-				file++;
-			else
-				file += Integer.parseInt(piece);
+			if (emptySquares > 0)
+				fen.append(emptySquares);
+			if (rank > 0)
+				fen.append('/');
 		}
 
-		return content;
-	}
-
-	private static void throwIfInvalidEnPassantSquare(final String enPassantSquare)
-	{
-		if (!enPassantSquare.matches("-|([a-h][36])"))
-			throw new EnPassantSquareException(enPassantSquare);
-	}
-
-	private static void throwIfInvalidPliesCounter(final String pliesCounter)
-	{
-		if (!pliesCounter.matches("0|([1-9][0-9]*)"))
-			throw new PliesCounterException(pliesCounter);
-	}
-
-	private static void throwIfInvalidTurnsCounter(final String turnsCounter)
-	{
-		if (!turnsCounter.matches("[1-9][0-9]*"))
-			throw new TurnsCounterException(turnsCounter);
+		fen.append(board.whiteIsActive() ? " w " : " b ");
+
+		final int castlingRights = board.castlingRights();
+		if (castlingRights == 0)
+			fen.append('-');
+		if ((castlingRights & Board.WHITE_KING_SIDE_CASTLING) != 0)
+			fen.append('K');
+		if ((castlingRights & Board.WHITE_QUEEN_SIDE_CASTLING) != 0)
+			fen.append('Q');
+		if ((castlingRights & Board.BLACK_KING_SIDE_CASTLING) != 0)
+			fen.append('k');
+		if ((castlingRights & Board.BLACK_QUEEN_SIDE_CASTLING) != 0)
+			fen.append('q');
+
+		final int enPassantSquare = board.enPassantSquare();
+		if (enPassantSquare == Board.NO_EN_PASSANT_SQUARE)
+			fen.append(" -");
+		else
+			fen.append(' ').append((char) ('a' + (enPassantSquare & 7))).append((char) ('1' + (enPassantSquare >>> 3)));
+
+		return fen.append(' ').append(board.pliesCounter())
+			.append(' ').append(board.turnsCounter())
+			.toString();
 	}
 }
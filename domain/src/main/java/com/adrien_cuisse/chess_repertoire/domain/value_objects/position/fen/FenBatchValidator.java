@@ -0,0 +1,108 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Validates large batches of fens across all cores, as validating one fen doesn't depend on any other
+ *
+ * Inputs are split in halves until small enough to be validated by a single worker,
+ * 	each result being written at the index of its input so that results come in input order
+ */
+public final class FenBatchValidator
+{
+	/**
+	 * Below this count, splitting costs more than validating
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 512;
+
+	private static final class ValidationTask extends RecursiveAction
+	{
+		private final String[] inputs;
+
+		private final ParseResult<Fen>[] results;
+
+		private final int start;
+
+		private final int end;
+
+		private ValidationTask(final String[] inputs, final ParseResult<Fen>[] results, final int start, final int end)
+		{
+			this.inputs = inputs;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (this.end - this.start <= SEQUENTIAL_THRESHOLD)
+			{
+				for (int index = this.start; index < this.end; index++)
+					this.results[index] = Fen.tryParse(this.inputs[index]);
+				return;
+			}
+
+			final int middle = (this.start + this.end) >>> 1;
+			invokeAll(
+				new ValidationTask(this.inputs, this.results, this.start, middle),
+				new ValidationTask(this.inputs, this.results, middle, this.end)
+			);
+		}
+	}
+
+	private final ForkJoinPool pool;
+
+	public FenBatchValidator()
+	{
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param pool - the workers to validate on, to keep batches away from other parallel work
+	 */
+	public FenBatchValidator(final ForkJoinPool pool)
+	{
+		this.pool = pool;
+	}
+
+	/**
+	 * @return List<ParseResult<Fen>> - the result of each input, in the same order
+	 */
+	public List<ParseResult<Fen>> validate(final List<String> fens)
+	{
+		return this.validate(fens.toArray(new String[0]));
+	}
+
+	/**
+	 * The stream is drained on the calling thread, then validated like a list
+	 *
+	 * @return List<ParseResult<Fen>> - the result of each input, in encounter order
+	 */
+	public List<ParseResult<Fen>> validate(final Stream<String> fens)
+	{
+		return this.validate(fens.toArray(String[]::new));
+	}
+
+	private List<ParseResult<Fen>> validate(final String[] inputs)
+	{
+		final ParseResult<Fen>[] results = newResults(inputs.length);
+
+		this.pool.invoke(new ValidationTask(inputs, results, 0, inputs.length));
+
+		return Arrays.asList(results);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ParseResult<Fen>[] newResults(final int length)
+	{
+		return new ParseResult[length];
+	}
+}
@@ -0,0 +1,170 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+
+import java.util.Arrays;
+
+/**
+ * Encodes positions into 9 bytes plus half a byte per piece, to be stored and indexed instead of their fen:
+ * 	at most 25 bytes for positions reachable in a game, up to 41 bytes for a full board
+ *
+ * bytes 0-7: occupancy bitboard, big-endian
+ * byte 8: bit 0 set if black is active, bits 1-4 castling rights, bits 5-7 unset
+ * bytes 9+: a nibble per occupied square, by ascending square, the first in the high nibble, holding
+ * 	the piece ordinal, or EN_PASSANT_PAWN for a pawn which can be taken en-passant, the last low
+ * 	nibble being unset after an odd count of pieces
+ *
+ * Encoding is canonical, so that encoded positions can be compared as keys: counters aren't kept,
+ * 	and en-passant squares which can't be taken are dropped, as for the position key
+ * Decoding only accepts canonical bytes, so that a position has a single encoding
+ */
+public final class FenCodec
+{
+	/**
+	 * The length of a board with all its 64 squares occupied, which a fen allows
+	 */
+	public static final int MAX_LENGTH = 41;
+
+	private static final int PIECES_OFFSET = 9;
+
+	private static final int STATE_BYTE = 8;
+
+	private static final int STATE_MASK = 0b1_1111;
+
+	private static final int EN_PASSANT_PAWN = Piece.values().length;
+
+	private FenCodec()
+	{
+	}
+
+	/**
+	 * @throws NullFenException - if fen is null
+	 */
+	public static byte[] encode(final Fen fen)
+	{
+		if (fen == null)
+			throw new NullFenException();
+
+		final Board board = fen.board();
+		final long occupancy = board.occupancy();
+		final boolean whiteIsActive = board.whiteIsActive();
+		final int enPassantPawn = enPassantPawnSquare(board);
+
+		final var bytes = new byte[encodedLength(occupancy)];
+		for (int index = 0; index < Long.BYTES; index++)
+			bytes[index] = (byte) (occupancy >>> (56 - 8 * index));
+
+		bytes[STATE_BYTE] = (byte) ((whiteIsActive ? 0 : 1) | (board.castlingRights() << 1));
+
+		int nibble = 0;
+		for (long squares = occupancy; squares != 0; squares &= squares - 1, nibble++)
+		{
+			final int square = Long.numberOfTrailingZeros(squares);
+			final int code = square == enPassantPawn ? EN_PASSANT_PAWN : board.pieceAt(square).get().ordinal();
+			bytes[PIECES_OFFSET + (nibble >>> 1)] |= (byte) ((nibble & 1) == 0 ? code << 4 : code);
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * @return Fen - the encoded position, with a plies counter of 0 and a turns counter of 1
+	 *
+	 * @throws NullEncodedFenException - if bytes are null
+	 * @throws EncodedFenLengthException - if the length doesn't match the count of occupied squares
+	 * @throws EncodedStateException - if unused bits of the state byte are set
+	 * @throws EncodedPieceException - if a piece code is unknown, or if a pawn which can be taken
+	 * 	en-passant isn't on the rank it double-pushed to, or can't be taken by any pawn
+	 * @throws EncodedPaddingException - if the nibble after an odd count of pieces isn't empty
+	 * @throws IllegalArgumentException - if the position isn't a valid fen, see the Fen constructor
+	 */
+	public static Fen decode(final byte[] bytes)
+	{
+		if (bytes == null)
+			throw new NullEncodedFenException();
+		if (bytes.length < PIECES_OFFSET)
+			throw new EncodedFenLengthException(PIECES_OFFSET, bytes.length);
+
+		long occupancy = 0;
+		for (int index = 0; index < Long.BYTES; index++)
+			occupancy = (occupancy << 8) | (bytes[index] & 0xff);
+
+		if (bytes.length != encodedLength(occupancy))
+			throw new EncodedFenLengthException(encodedLength(occupancy), bytes.length);
+
+		final int state = bytes[STATE_BYTE] & 0xff;
+		if ((state & ~STATE_MASK) != 0)
+			throw new EncodedStateException(state);
+
+		final boolean whiteIsActive = (state & 1) == 0;
+		final int castlingRights = state >>> 1;
+		final int doublePushRank = whiteIsActive ? 4 : 3;
+		final Piece inactivePawn = whiteIsActive ? Piece.BLACK_PAWN : Piece.WHITE_PAWN;
+
+		final var bitboards = new long[Piece.values().length];
+		int enPassantSquare = Board.NO_EN_PASSANT_SQUARE;
+		int enPassantPawn = Board.NO_EN_PASSANT_SQUARE;
+
+		int nibble = 0;
+		for (long squares = occupancy; squares != 0; squares &= squares - 1, nibble++)
+		{
+			final int square = Long.numberOfTrailingZeros(squares);
+			final int packed = bytes[PIECES_OFFSET + (nibble >>> 1)];
+			final int code = ((nibble & 1) == 0 ? packed >>> 4 : packed) & 0xf;
+
+			if (code == EN_PASSANT_PAWN)
+			{
+				if (square >>> 3 != doublePushRank || enPassantSquare != Board.NO_EN_PASSANT_SQUARE)
+					throw new EncodedPieceException(code, square);
+
+				enPassantSquare = whiteIsActive ? square + 8 : square - 8;
+				enPassantPawn = square;
+				bitboards[inactivePawn.ordinal()] |= 1L << square;
+			}
+			else if (code > EN_PASSANT_PAWN)
+				throw new EncodedPieceException(code, square);
+			else
+				bitboards[code] |= 1L << square;
+		}
+
+		if ((nibble & 1) == 1 && (bytes[bytes.length - 1] & 0xf) != 0)
+			throw new EncodedPaddingException(bytes[bytes.length - 1] & 0xf);
+
+		final var board = new Board(bitboards, whiteIsActive, castlingRights, enPassantSquare, 0, 1);
+		if (board.takeableEnPassantSquare() != enPassantSquare)
+			throw new EncodedPieceException(EN_PASSANT_PAWN, enPassantPawn);
+
+		return Fen.of(board);
+	}
+
+	/**
+	 * Orders encoded positions as unsigned bytes, so that the order is the same in any storage
+	 */
+	public static int compare(final byte[] first, final byte[] second)
+	{
+		return Arrays.compareUnsigned(first, second);
+	}
+
+	private static int encodedLength(final long occupancy)
+	{
+		return PIECES_OFFSET + (Long.bitCount(occupancy) + 1) / 2;
+	}
+
+	/**
+	 * @return int - the square of the pawn which can be taken en-passant, or NO_EN_PASSANT_SQUARE
+	 */
+	private static int enPassantPawnSquare(final Board board)
+	{
+		final int enPassantSquare = board.takeableEnPassantSquare();
+		if (enPassantSquare == Board.NO_EN_PASSANT_SQUARE)
+			return Board.NO_EN_PASSANT_SQUARE;
+
+		final boolean whiteIsActive = board.whiteIsActive();
+		final int pawnSquare = whiteIsActive ? enPassantSquare - 8 : enPassantSquare + 8;
+		final Piece inactivePawn = whiteIsActive ? Piece.BLACK_PAWN : Piece.WHITE_PAWN;
+
+		return (board.bitboard(inactivePawn) & (1L << pawnSquare)) != 0 ? pawnSquare : Board.NO_EN_PASSANT_SQUARE;
+	}
+}
@@ -0,0 +1,163 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Validates files holding a fen or an EPD per line, reading lines straight from the memory-mapped file,
+ * 	so that no string is made out of valid lines
+ *
+ * Blank lines are skipped, but still counted in line numbers
+ *
+ * A validator reuses the same line view and parser for every line, and counts lines as it goes,
+ * 	so it must not be shared between threads: files can be validated one after another, or by one
+ * 	validator per thread
+ */
+public final class FenFileValidator
+{
+	public enum Format
+	{
+		/**
+		 * 6 parts per line
+		 */
+		FEN,
+
+		/**
+		 * 4 parts per line, followed by operations which aren't checked
+		 */
+		EPD
+	}
+
+	public interface IResultHandler
+	{
+		void onValidLine(long lineNumber);
+
+		/**
+		 * @param failure - describes the exception the Fen constructor would have thrown
+		 */
+		void onInvalidLine(long lineNumber, ParseFailure failure);
+	}
+
+	/**
+	 * Files are mapped by chunks, a buffer being limited to 2GB
+	 */
+	private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+	private final long maxChunkSize;
+
+	private final AsciiSequence line = new AsciiSequence();
+
+	private final FenParser parser;
+
+	private long lineNumber;
+
+	public FenFileValidator(final Format format)
+	{
+		this(format, MAX_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param maxChunkSize - the most bytes mapped at once, which must hold at least a whole line
+	 */
+	FenFileValidator(final Format format, final long maxChunkSize)
+	{
+		this.maxChunkSize = maxChunkSize;
+		this.parser = new FenParser(format == Format.EPD);
+	}
+
+	/**
+	 * @throws IOException - if the file can't be read, or if one of its lines doesn't fit in a chunk
+	 */
+	public void validate(final Path file, final IResultHandler handler) throws IOException
+	{
+		try (final var channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			long position = 0;
+			this.lineNumber = 0;
+
+			while (position < size)
+			{
+				final long chunkSize = Math.min(size - position, this.maxChunkSize);
+				final boolean isLastChunk = position + chunkSize == size;
+				final ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, chunkSize);
+
+				final int consumed = this.validateLines(chunk, isLastChunk, handler);
+				if (consumed == 0)
+					throw new IOException("Line " + (this.lineNumber + 1) + " is longer than " + this.maxChunkSize + " bytes");
+
+				position += consumed;
+			}
+		}
+	}
+
+	/**
+	 * Validates the lines of the buffer, from its position to its limit, numbered from 1
+	 */
+	public void validate(final ByteBuffer lines, final IResultHandler handler)
+	{
+		this.lineNumber = 0;
+		this.validateLines(lines, true, handler);
+	}
+
+	/**
+	 * @param isLast - true if the buffer ends the input, so that its last line doesn't need a line feed
+	 *
+	 * @return int - the count of bytes read, up to the end of the last complete line
+	 */
+	private int validateLines(final ByteBuffer bytes, final boolean isLast, final IResultHandler handler)
+	{
+		final int start = bytes.position();
+		final int end = bytes.limit();
+		int lineStart = start;
+
+		for (int index = start; index < end; index++)
+		{
+			if (bytes.get(index) == '\n')
+			{
+				this.validateLine(bytes, lineStart, index, handler);
+				lineStart = index + 1;
+			}
+		}
+
+		if (isLast && lineStart < end)
+		{
+			this.validateLine(bytes, lineStart, end, handler);
+			lineStart = end;
+		}
+
+		return lineStart - start;
+	}
+
+	private void validateLine(final ByteBuffer bytes, final int start, final int end, final IResultHandler handler)
+	{
+		this.lineNumber++;
+
+		if (isBlank(bytes, start, end))
+			return;
+
+		final FenParser parser = this.parser.parse(this.line.reset(bytes, start, end - start));
+
+		if (parser.succeeded())
+			handler.onValidLine(this.lineNumber);
+		else
+			handler.onInvalidLine(this.lineNumber, parser.parseFailure());
+	}
+
+	private static boolean isBlank(final ByteBuffer bytes, final int start, final int end)
+	{
+		for (int index = start; index < end; index++)
+		{
+			final byte character = bytes.get(index);
+			if (character != ' ' && character != '\t' && character != '\r')
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,599 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass FEN validator, scanning characters once without any regex or splitting,
+ * 	and filling the bitboards of the board along the way
+ *
+ * The first failure is recorded rather than thrown, so that the parts count can still take
+ * precedence over it, as it can only be known once the whole input has been scanned
+ *
+ * A parser can be reused to parse other inputs one after another, results being those of the last one,
+ * 	so it must not be shared between threads
+ */
+final class FenParser
+{
+	enum Failure
+	{
+		PARTS_COUNT(PartsCountException.class),
+		MISSING_WHITE_KING(MissingKingException.class),
+		MISSING_BLACK_KING(MissingKingException.class),
+		RANKS_COUNT(RanksCountException.class),
+		RANK(RankException.class),
+		RANK_LENGTH(RankLengthException.class),
+		ACTIVE_PLAYER(ActivePlayerException.class),
+		CASTLING(CastlingException.class),
+		BLACK_KING_MOVED(ConflictingCastlingException.class),
+		BLACK_QUEEN_SIDE_ROOK_MOVED(ConflictingCastlingException.class),
+		BLACK_KING_SIDE_ROOK_MOVED(ConflictingCastlingException.class),
+		WHITE_KING_MOVED(ConflictingCastlingException.class),
+		WHITE_QUEEN_SIDE_ROOK_MOVED(ConflictingCastlingException.class),
+		WHITE_KING_SIDE_ROOK_MOVED(ConflictingCastlingException.class),
+		EN_PASSANT_SQUARE(EnPassantSquareException.class),
+		PLIES_COUNTER(PliesCounterException.class),
+		TURNS_COUNTER(TurnsCounterException.class);
+
+		private final Class<? extends IllegalArgumentException> type;
+
+		Failure(final Class<? extends IllegalArgumentException> type)
+		{
+			this.type = type;
+		}
+	}
+
+	private static final int RANKS_PART = 0;
+
+	private static final int ACTIVE_PLAYER_PART = 1;
+
+	private static final int CASTLING_PART = 2;
+
+	private static final int EN_PASSANT_SQUARE_PART = 3;
+
+	private static final int PLIES_COUNTER_PART = 4;
+
+	private static final int TURNS_COUNTER_PART = 5;
+
+	private static final int PARTS_COUNT = 6;
+
+	/**
+	 * EPD lines hold the 4 first parts of a fen, followed by operations
+	 */
+	private static final int EPD_PARTS_COUNT = 4;
+
+	private static final int RANKS_COUNT = 8;
+
+	private static final int FILES_COUNT = 8;
+
+	private static final long A1 = 1L;
+
+	private static final long E1 = 1L << 4;
+
+	private static final long H1 = 1L << 7;
+
+	private static final long A8 = 1L << 56;
+
+	private static final long E8 = 1L << 60;
+
+	private static final long H8 = 1L << 63;
+
+	private static final String CASTLING_ORDER = "KQkq";
+
+	private CharSequence input;
+
+	private final int expectedPartsCount;
+
+	private boolean isNormalized;
+
+	private int partsCount;
+
+	private int partStart;
+
+	private int partLength;
+
+	private Failure failure;
+
+	private int failureStart;
+
+	private int failureEnd;
+
+	private int failureCount;
+
+	private boolean hasWhiteKing;
+
+	private boolean hasBlackKing;
+
+	private int ranksCount;
+
+	private int rankStart;
+
+	private int file;
+
+	private boolean previousSquareWasDigit;
+
+	private boolean rankHasInvalidCharacter;
+
+	private Failure rankFailure;
+
+	private int rankFailureStart;
+
+	private int rankFailureCount;
+
+	private final long[] bitboards = new long[12];
+
+	private char firstCharacter;
+
+	private char firstActivePlayerCharacter;
+
+	private boolean partIsInvalid;
+
+	private int castlingOrder;
+
+	private int castlingRights;
+
+	private int enPassantSquare;
+
+	private long counter;
+
+	private int pliesCounter;
+
+	private int turnsCounter;
+
+	FenParser(final CharSequence input)
+	{
+		this(input, false);
+	}
+
+	/**
+	 * @param isEpd - true to only read the 4 first parts and ignore operations, counters being 0 and 1
+	 */
+	FenParser(final CharSequence input, final boolean isEpd)
+	{
+		this(isEpd);
+		this.parse(input);
+	}
+
+	/**
+	 * Makes a parser to reuse, which has nothing to report until it parses an input
+	 *
+	 * @param isEpd - true to only read the 4 first parts and ignore operations, counters being 0 and 1
+	 */
+	FenParser(final boolean isEpd)
+	{
+		this.expectedPartsCount = isEpd ? EPD_PARTS_COUNT : PARTS_COUNT;
+	}
+
+	/**
+	 * Forgets the previous input, and parses this one
+	 */
+	FenParser parse(final CharSequence input)
+	{
+		this.reset(input);
+
+		final boolean isEpd = this.expectedPartsCount == EPD_PARTS_COUNT;
+		final int length = input.length();
+		boolean inPart = false;
+
+		for (int index = 0; index < length; index++)
+		{
+			final char character = input.charAt(index);
+
+			if (isWhitespace(character))
+			{
+				if (inPart)
+				{
+					this.finishPart(index);
+					inPart = false;
+					if (isEpd && this.partsCount == EPD_PARTS_COUNT)
+						break;
+					if (character != ' ' || index + 1 == length || isWhitespace(input.charAt(index + 1)))
+						this.isNormalized = false;
+				}
+				else
+					this.isNormalized = false;
+				continue;
+			}
+
+			if (!inPart)
+			{
+				this.startPart(index);
+				inPart = true;
+			}
+
+			this.feed(character, index);
+		}
+
+		if (inPart)
+			this.finishPart(length);
+
+		if (isEpd)
+		{
+			this.pliesCounter = 0;
+			this.turnsCounter = 1;
+		}
+
+		if (this.partsCount != this.expectedPartsCount)
+			this.fail(Failure.PARTS_COUNT, 0, length, this.partsCount);
+
+		return this;
+	}
+
+	boolean succeeded()
+	{
+		return this.failure == null;
+	}
+
+	/**
+	 * @return the input with its parts separated by a single space, and without surrounding whitespaces,
+	 * 	only relevant for fens as EPD operations are kept
+	 */
+	String normalizedFen()
+	{
+		if (this.isNormalized)
+			return this.input.toString();
+
+		final var builder = new StringBuilder(this.input.length());
+		final int length = this.input.length();
+
+		for (int index = 0; index < length; index++)
+		{
+			final char character = this.input.charAt(index);
+
+			if (!isWhitespace(character))
+				builder.append(character);
+			else if (builder.length() > 0 && builder.charAt(builder.length() - 1) != ' ')
+				builder.append(' ');
+		}
+
+		if (builder.length() > 0 && builder.charAt(builder.length() - 1) == ' ')
+			builder.setLength(builder.length() - 1);
+
+		return builder.toString();
+	}
+
+	/**
+	 * @return the board read from the input, only relevant if parsing succeeded
+	 */
+	Board board()
+	{
+		return new Board(
+			this.bitboards,
+			this.firstActivePlayerCharacter == 'w',
+			this.castlingRights,
+			this.enPassantSquare,
+			this.pliesCounter,
+			this.turnsCounter
+		);
+	}
+
+	/**
+	 * @return the exception describing the first failure met while parsing
+	 */
+	IllegalArgumentException failure()
+	{
+		return exception(this.failure, this.faultyPart(), this.failureCount, this.expectedPartsCount);
+	}
+
+	/**
+	 * @return the first failure met while parsing, its exception being only built if asked,
+	 * 	from what it needs of the input which may then be reused
+	 */
+	ParseFailure parseFailure()
+	{
+		final Failure failure = this.failure;
+		final String faultyPart = this.faultyPart();
+		final int count = this.failureCount;
+		final int expectedPartsCount = this.expectedPartsCount;
+
+		return new ParseFailure(failure.type, () -> exception(failure, faultyPart, count, expectedPartsCount));
+	}
+
+	private String faultyPart()
+	{
+		return this.failureStart < this.failureEnd
+			? this.input.subSequence(this.failureStart, this.failureEnd).toString()
+			: "";
+	}
+
+	private static IllegalArgumentException exception(
+		final Failure failure,
+		final String faultyPart,
+		final int count,
+		final int expectedPartsCount
+	) {
+		return switch (failure)
+		{
+			case PARTS_COUNT -> new PartsCountException(count, expectedPartsCount);
+			case MISSING_WHITE_KING -> new MissingKingException("white", "K");
+			case MISSING_BLACK_KING -> new MissingKingException("black", "k");
+			case RANKS_COUNT -> new RanksCountException(count);
+			case RANK -> new RankException(faultyPart);
+			case RANK_LENGTH -> new RankLengthException(count);
+			case ACTIVE_PLAYER -> new ActivePlayerException(faultyPart);
+			case CASTLING -> new CastlingException(faultyPart);
+			case BLACK_KING_MOVED -> new ConflictingCastlingException("black", "player", "king", "e8");
+			case BLACK_QUEEN_SIDE_ROOK_MOVED -> new ConflictingCastlingException("black", "queen side", "rook", "a8");
+			case BLACK_KING_SIDE_ROOK_MOVED -> new ConflictingCastlingException("black", "king side", "rook", "h8");
+			case WHITE_KING_MOVED -> new ConflictingCastlingException("white", "player", "king", "e1");
+			case WHITE_QUEEN_SIDE_ROOK_MOVED -> new ConflictingCastlingException("white", "queen side", "rook", "a1");
+			case WHITE_KING_SIDE_ROOK_MOVED -> new ConflictingCastlingException("white", "king side", "rook", "h1");
+			case EN_PASSANT_SQUARE -> new EnPassantSquareException(faultyPart);
+			case PLIES_COUNTER -> new PliesCounterException(faultyPart);
+			case TURNS_COUNTER -> new TurnsCounterException(faultyPart);
+		};
+	}
+
+	/**
+	 * Same whitespaces as the regex class \s
+	 */
+	private static boolean isWhitespace(final char character)
+	{
+		return character == ' '
+			|| character == '\t'
+			|| character == '\n'
+			|| character == '\u000B'
+			|| character == '\f'
+			|| character == '\r';
+	}
+
+	private void reset(final CharSequence input)
+	{
+		this.input = input;
+		this.isNormalized = true;
+		this.partsCount = 0;
+		this.failure = null;
+		this.hasWhiteKing = false;
+		this.hasBlackKing = false;
+		this.ranksCount = 1;
+		this.file = 0;
+		this.previousSquareWasDigit = false;
+		this.rankHasInvalidCharacter = false;
+		this.rankFailure = null;
+		Arrays.fill(this.bitboards, 0);
+		this.castlingOrder = 0;
+		this.castlingRights = 0;
+		this.enPassantSquare = Board.NO_EN_PASSANT_SQUARE;
+	}
+
+	private void fail(final Failure failure, final int start, final int end, final int count)
+	{
+		this.failure = failure;
+		this.failureStart = start;
+		this.failureEnd = end;
+		this.failureCount = count;
+	}
+
+	private void startPart(final int index)
+	{
+		this.partStart = index;
+		this.partLength = 0;
+		this.partIsInvalid = false;
+		this.rankStart = index;
+		this.partsCount++;
+	}
+
+	private void feed(final char character, final int index)
+	{
+		if (++this.partLength == 1)
+			this.firstCharacter = character;
+
+		if (this.failure != null)
+			return;
+
+		switch (this.partsCount - 1)
+		{
+			case RANKS_PART -> this.feedRanks(character, index);
+			case CASTLING_PART -> this.feedCastling(character);
+			case PLIES_COUNTER_PART, TURNS_COUNTER_PART -> this.feedCounter(character);
+			default -> { }
+		}
+	}
+
+	private void finishPart(final int end)
+	{
+		if (this.failure != null)
+			return;
+
+		switch (this.partsCount - 1)
+		{
+			case RANKS_PART -> this.finishRanks(end);
+			case ACTIVE_PLAYER_PART -> this.finishActivePlayer(end);
+			case CASTLING_PART -> this.finishCastling(end);
+			case EN_PASSANT_SQUARE_PART -> this.finishEnPassantSquare(end);
+			case PLIES_COUNTER_PART ->
+				this.pliesCounter = this.finishCounter(Failure.PLIES_COUNTER, '0', Board.MAX_PLIES_COUNTER, end);
+			case TURNS_COUNTER_PART ->
+				this.turnsCounter = this.finishCounter(Failure.TURNS_COUNTER, '1', Integer.MAX_VALUE, end);
+			default -> { }
+		}
+	}
+
+	private void feedRanks(final char character, final int index)
+	{
+		if (character == '/')
+		{
+			this.finishRank();
+			this.ranksCount++;
+			this.rankStart = index + 1;
+			this.file = 0;
+			this.previousSquareWasDigit = false;
+			this.rankHasInvalidCharacter = false;
+			return;
+		}
+
+		if (character >= '1' && character <= '8')
+		{
+			if (this.previousSquareWasDigit)
+				this.failRank();
+			this.previousSquareWasDigit = true;
+			this.file += character - '0';
+			return;
+		}
+
+		this.previousSquareWasDigit = false;
+
+		final Piece piece = Piece.fromLetter(character);
+		if (piece == null)
+		{
+			this.failRank();
+			return;
+		}
+
+		if (piece == Piece.WHITE_KING)
+			this.hasWhiteKing = true;
+		else if (piece == Piece.BLACK_KING)
+			this.hasBlackKing = true;
+
+		if (this.file < FILES_COUNT && this.ranksCount <= RANKS_COUNT)
+			this.bitboards[piece.ordinal()] |= 1L << ((RANKS_COUNT - this.ranksCount) * FILES_COUNT + this.file);
+		this.file++;
+	}
+
+	private void failRank()
+	{
+		this.rankHasInvalidCharacter = true;
+		if (this.rankFailure == null)
+		{
+			this.rankFailure = Failure.RANK;
+			this.rankFailureStart = this.rankStart;
+		}
+	}
+
+	private void finishRank()
+	{
+		if (this.rankFailure == null && !this.rankHasInvalidCharacter && this.file != FILES_COUNT)
+		{
+			this.rankFailure = Failure.RANK_LENGTH;
+			this.rankFailureCount = this.file;
+		}
+	}
+
+	private void finishRanks(final int end)
+	{
+		this.finishRank();
+
+		if (!this.hasWhiteKing)
+			this.fail(Failure.MISSING_WHITE_KING, this.partStart, end, 0);
+		else if (!this.hasBlackKing)
+			this.fail(Failure.MISSING_BLACK_KING, this.partStart, end, 0);
+		else if (this.ranksCount != RANKS_COUNT)
+			this.fail(Failure.RANKS_COUNT, this.partStart, end, this.ranksCount);
+		else if (this.rankFailure != null)
+			this.fail(this.rankFailure, this.rankFailureStart, rankEnd(this.rankFailureStart), this.rankFailureCount);
+	}
+
+	private int rankEnd(final int rankStart)
+	{
+		int end = rankStart;
+		while (end < this.input.length() && this.input.charAt(end) != '/' && !isWhitespace(this.input.charAt(end)))
+			end++;
+		return end;
+	}
+
+	private void finishActivePlayer(final int end)
+	{
+		if (this.partLength != 1 || (this.firstCharacter != 'w' && this.firstCharacter != 'b'))
+			this.fail(Failure.ACTIVE_PLAYER, this.partStart, end, 0);
+		this.firstActivePlayerCharacter = this.firstCharacter;
+	}
+
+	private void feedCastling(final char character)
+	{
+		if (this.firstCharacter == '-')
+		{
+			this.partIsInvalid |= this.partLength != 1;
+			return;
+		}
+
+		final int order = CASTLING_ORDER.indexOf(character);
+		if (order < this.castlingOrder)
+			this.partIsInvalid = true;
+		else
+		{
+			this.castlingOrder = order + 1;
+			this.castlingRights |= 1 << order;
+		}
+	}
+
+	private void finishCastling(final int end)
+	{
+		if (this.partIsInvalid)
+		{
+			this.fail(Failure.CASTLING, this.partStart, end, 0);
+			return;
+		}
+
+		final boolean whiteKingSide = (this.castlingRights & 0b0001) != 0;
+		final boolean whiteQueenSide = (this.castlingRights & 0b0010) != 0;
+		final boolean blackKingSide = (this.castlingRights & 0b0100) != 0;
+		final boolean blackQueenSide = (this.castlingRights & 0b1000) != 0;
+
+		final long blackKing = this.bitboards[Piece.BLACK_KING.ordinal()];
+		final long blackRooks = this.bitboards[Piece.BLACK_ROOK.ordinal()];
+		final long whiteKing = this.bitboards[Piece.WHITE_KING.ordinal()];
+		final long whiteRooks = this.bitboards[Piece.WHITE_ROOK.ordinal()];
+
+		if ((blackKingSide || blackQueenSide) && (blackKing & E8) == 0)
+			this.fail(Failure.BLACK_KING_MOVED, this.partStart, end, 0);
+		else if (blackQueenSide && (blackRooks & A8) == 0)
+			this.fail(Failure.BLACK_QUEEN_SIDE_ROOK_MOVED, this.partStart, end, 0);
+		else if (blackKingSide && (blackRooks & H8) == 0)
+			this.fail(Failure.BLACK_KING_SIDE_ROOK_MOVED, this.partStart, end, 0);
+		else if ((whiteKingSide || whiteQueenSide) && (whiteKing & E1) == 0)
+			this.fail(Failure.WHITE_KING_MOVED, this.partStart, end, 0);
+		else if (whiteQueenSide && (whiteRooks & A1) == 0)
+			this.fail(Failure.WHITE_QUEEN_SIDE_ROOK_MOVED, this.partStart, end, 0);
+		else if (whiteKingSide && (whiteRooks & H1) == 0)
+			this.fail(Failure.WHITE_KING_SIDE_ROOK_MOVED, this.partStart, end, 0);
+	}
+
+	private void finishEnPassantSquare(final int end)
+	{
+		if (this.partLength == 1 && this.firstCharacter == '-')
+			return;
+
+		final boolean isSquare = this.partLength == 2
+			&& this.firstCharacter >= 'a'
+			&& this.firstCharacter <= 'h'
+			&& (this.input.charAt(end - 1) == '3' || this.input.charAt(end - 1) == '6');
+
+		if (!isSquare)
+			this.fail(Failure.EN_PASSANT_SQUARE, this.partStart, end, 0);
+		else
+			this.enPassantSquare = (this.input.charAt(end - 1) - '1') * FILES_COUNT + (this.firstCharacter - 'a');
+	}
+
+	private void feedCounter(final char character)
+	{
+		if (this.partLength == 1)
+			this.counter = 0;
+
+		if (character < '0' || character > '9')
+			this.partIsInvalid = true;
+		else if (this.counter <= Integer.MAX_VALUE)
+			this.counter = this.counter * 10 + (character - '0');
+	}
+
+	/**
+	 * @param lowestDigit - '0' if the counter can be 0, '1' if it must be strictly positive
+	 * @param highestValue - the biggest value the board can hold for this counter
+	 * @return int - the value of the counter, only relevant if parsing succeeded
+	 */
+	private int finishCounter(final Failure failure, final char lowestDigit, final long highestValue, final int end)
+	{
+		final boolean isInteger = !this.partIsInvalid
+			&& this.firstCharacter >= lowestDigit
+			&& (this.firstCharacter != '0' || this.partLength == 1)
+			&& this.counter <= highestValue;
+
+		if (!isInteger)
+			this.fail(failure, this.partStart, end, 0);
+
+		return (int) this.counter;
+	}
+}
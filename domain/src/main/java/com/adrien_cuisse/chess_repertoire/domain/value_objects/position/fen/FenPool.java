@@ -0,0 +1,106 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of already validated fens, so that positions seen over and over, such as openings,
+ * 	are neither parsed again nor kept in memory as many equal instances
+ *
+ * Fens are stored in a fixed table indexed by the hash of their input, a new fen replacing the one
+ * 	in its slot: the pool never grows, and threads share it without locking
+ */
+public final class FenPool
+{
+	private record Entry(String input, Fen fen)
+	{
+	}
+
+	private final AtomicReferenceArray<Entry> entries;
+
+	private final int mask;
+
+	/**
+	 * @param capacity - the most fens kept, rounded up to a power of 2
+	 *
+	 * @throws IllegalArgumentException - if capacity isn't between 1 and 2^30
+	 */
+	public FenPool(final int capacity)
+	{
+		if (capacity < 1 || capacity > 1 << 30)
+			throw new IllegalArgumentException("Pool capacity must be between 1 and 2^30, got " + capacity);
+
+		final int slotsCount = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		this.entries = new AtomicReferenceArray<>(slotsCount);
+		this.mask = slotsCount - 1;
+	}
+
+	/**
+	 * @return Fen - the pooled fen for this input, or a newly validated one which is then pooled
+	 *
+	 * @throws IllegalArgumentException - if the fen is invalid, see the Fen constructor
+	 */
+	public Fen intern(final String input)
+	{
+		return this.tryIntern(input).orElseThrow();
+	}
+
+	/**
+	 * @return ParseResult<Fen> - the pooled fen for this input, or the result of parsing it, invalid fens not being pooled
+	 */
+	public ParseResult<Fen> tryIntern(final String input)
+	{
+		if (input == null)
+			return Fen.tryParse(null);
+
+		final Fen pooled = this.find(input);
+		if (pooled != null)
+			return ParseResult.valid(pooled);
+
+		final ParseResult<Fen> result = Fen.tryParse(input);
+		if (!result.isValid())
+			return result;
+
+		// inputs with other whitespaces share the instance of their normalized form
+		Fen fen = result.value().get();
+		final String normalized = fen.toString();
+		if (!normalized.equals(input))
+		{
+			final Fen pooledNormalized = this.find(normalized);
+			if (pooledNormalized != null)
+				fen = pooledNormalized;
+			else
+				this.store(normalized, fen);
+		}
+
+		this.store(input, fen);
+		return fen == result.value().get() ? result : ParseResult.valid(fen);
+	}
+
+	/**
+	 * @return int - the count of slots, which is the most fens kept
+	 */
+	public int capacity()
+	{
+		return this.entries.length();
+	}
+
+	private Fen find(final String input)
+	{
+		final Entry entry = this.entries.get(this.slot(input));
+		return entry != null && entry.input.equals(input) ? entry.fen : null;
+	}
+
+	private void store(final String input, final Fen fen)
+	{
+		this.entries.set(this.slot(input), new Entry(input, fen));
+	}
+
+	private int slot(final String input)
+	{
+		final int hash = input.hashCode();
+		return (hash ^ (hash >>> 16)) & this.mask;
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+public final class NullEncodedFenException extends IllegalArgumentException
+{
+	public NullEncodedFenException()
+	{
+		super("Encoded fen can't be null");
+	}
+}
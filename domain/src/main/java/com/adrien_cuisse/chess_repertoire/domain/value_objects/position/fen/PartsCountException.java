@@ -5,6 +5,11 @@ public final class PartsCountException extends IllegalArgumentException
 {
 	public PartsCountException(final int partsCount)
 	{
-		super("Fen requires 6 space-delimited parts, got " + partsCount);
+		this(partsCount, 6);
+	}
+
+	public PartsCountException(final int partsCount, final int expectedPartsCount)
+	{
+		super("Fen requires " + expectedPartsCount + " space-delimited parts, got " + partsCount);
 	}
 }
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+public final class ImpossibleEnPassantException extends IllegalArgumentException
+{
+	public ImpossibleEnPassantException(final String square)
+	{
+		super("En-passant square " + square + " isn't behind a pawn which could have just double-pushed");
+	}
+}
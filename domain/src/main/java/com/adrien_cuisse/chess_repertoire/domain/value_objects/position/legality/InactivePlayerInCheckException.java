@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+public final class InactivePlayerInCheckException extends IllegalArgumentException
+{
+	public InactivePlayerInCheckException(final String color)
+	{
+		super("Position can't have the " + color + " king in check while it isn't " + color + " to play");
+	}
+}
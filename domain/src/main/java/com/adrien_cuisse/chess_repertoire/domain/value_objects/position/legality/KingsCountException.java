@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+public final class KingsCountException extends IllegalArgumentException
+{
+	public KingsCountException(final String color, final int count)
+	{
+		super("Position must contain exactly 1 " + color + " king, got " + count);
+	}
+}
@@ -0,0 +1,75 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.NullFenException;
+
+/**
+ * A well-formed fen which could actually be reached in a game
+ */
+public final class LegalPosition implements IValueObject
+{
+	private final Fen fen;
+
+	/**
+	 * @throws NullFenException - if fen is null
+	 * @throws KingsCountException - if any player hasn't exactly 1 king
+	 * @throws PawnsCountException - if any player has more than 8 pawns
+	 * @throws PromotedPiecesException - if any player has more pieces than its promoted pawns allow
+	 * @throws PawnOnBackRankException - if any pawn stands on the first or last rank
+	 * @throws InactivePlayerInCheckException - if the king of the player not to move is attacked
+	 * @throws ImpossibleEnPassantException - if the en-passant square isn't right behind a pawn which
+	 * 	could have just double-pushed
+	 */
+	public LegalPosition(final Fen fen)
+	{
+		if (fen == null)
+			throw new NullFenException();
+
+		final var checker = new LegalityChecker(fen.board());
+		if (!checker.succeeded())
+			throw checker.failure();
+
+		this.fen = fen;
+	}
+
+	/**
+	 * @return boolean - whether the board could be reached in a game, without building any error
+	 */
+	public static boolean isLegal(final Board board)
+	{
+		return new LegalityChecker(board).succeeded();
+	}
+
+	public Fen fen()
+	{
+		return this.fen;
+	}
+
+	@Override
+	public boolean equals(final IValueObject other)
+	{
+		if (other instanceof LegalPosition otherInstance)
+			return this.fen.equals(otherInstance.fen);
+		return false;
+	}
+
+	@Override
+	public boolean equals(final Object other)
+	{
+		return other instanceof IValueObject valueObject && this.equals(valueObject);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return this.fen.hashCode();
+	}
+
+	public String toString()
+	{
+		return this.fen.toString();
+	}
+}
@@ -0,0 +1,147 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+
+/**
+ * Finds the first reason making a board unreachable from the initial position, if any,
+ * 	without allocating anything when the board is legal
+ */
+final class LegalityChecker
+{
+	private static final long FIRST_AND_LAST_RANKS = 0xff00_0000_0000_00ffL;
+
+	private enum Failure
+	{
+		KINGS_COUNT,
+		PAWNS_COUNT,
+		PROMOTED_PIECES,
+		PAWN_ON_BACK_RANK,
+		INACTIVE_PLAYER_IN_CHECK,
+		IMPOSSIBLE_EN_PASSANT,
+	}
+
+	private final Board board;
+
+	private Failure failure;
+
+	private boolean failureIsWhite;
+
+	private int failureCount;
+
+	private int failureDetail;
+
+	LegalityChecker(final Board board)
+	{
+		this.board = board;
+
+		if (this.checkPiecesCounts(true) && this.checkPiecesCounts(false)
+			&& this.checkPawnsRanks() && this.checkInactiveKing())
+			this.checkEnPassantSquare();
+	}
+
+	boolean succeeded()
+	{
+		return this.failure == null;
+	}
+
+	IllegalArgumentException failure()
+	{
+		final String color = this.failureIsWhite ? "white" : "black";
+
+		return switch (this.failure) {
+			case KINGS_COUNT -> new KingsCountException(color, this.failureCount);
+			case PAWNS_COUNT -> new PawnsCountException(color, this.failureCount);
+			case PROMOTED_PIECES -> new PromotedPiecesException(color, this.failureCount, this.failureDetail);
+			case PAWN_ON_BACK_RANK -> new PawnOnBackRankException(squareLabel(this.failureDetail));
+			case INACTIVE_PLAYER_IN_CHECK -> new InactivePlayerInCheckException(color);
+			case IMPOSSIBLE_EN_PASSANT -> new ImpossibleEnPassantException(squareLabel(this.failureDetail));
+		};
+	}
+
+	private boolean checkPiecesCounts(final boolean isWhite)
+	{
+		final int kings = this.count(isWhite ? Piece.WHITE_KING : Piece.BLACK_KING);
+		if (kings != 1)
+			return this.fail(Failure.KINGS_COUNT, isWhite, kings, 0);
+
+		final int pawns = this.count(isWhite ? Piece.WHITE_PAWN : Piece.BLACK_PAWN);
+		if (pawns > 8)
+			return this.fail(Failure.PAWNS_COUNT, isWhite, pawns, 0);
+
+		// every piece beyond the initial ones must come from a promoted pawn
+		final int promotedPieces = Math.max(0, this.count(isWhite ? Piece.WHITE_QUEEN : Piece.BLACK_QUEEN) - 1)
+			+ Math.max(0, this.count(isWhite ? Piece.WHITE_ROOK : Piece.BLACK_ROOK) - 2)
+			+ Math.max(0, this.count(isWhite ? Piece.WHITE_BISHOP : Piece.BLACK_BISHOP) - 2)
+			+ Math.max(0, this.count(isWhite ? Piece.WHITE_KNIGHT : Piece.BLACK_KNIGHT) - 2);
+		final int missingPawns = 8 - pawns;
+		if (promotedPieces > missingPawns)
+			return this.fail(Failure.PROMOTED_PIECES, isWhite, promotedPieces, missingPawns);
+
+		return true;
+	}
+
+	private boolean checkPawnsRanks()
+	{
+		final long misplacedPawns = (this.board.bitboard(Piece.WHITE_PAWN) | this.board.bitboard(Piece.BLACK_PAWN))
+			& FIRST_AND_LAST_RANKS;
+
+		if (misplacedPawns != 0)
+			return this.fail(Failure.PAWN_ON_BACK_RANK, true, 0, Long.numberOfTrailingZeros(misplacedPawns));
+		return true;
+	}
+
+	private boolean checkInactiveKing()
+	{
+		final boolean inactiveIsWhite = !this.board.whiteIsActive();
+		final int inactiveKingSquare = this.board.kingSquare(inactiveIsWhite);
+
+		if (this.board.isAttacked(inactiveKingSquare, !inactiveIsWhite))
+			return this.fail(Failure.INACTIVE_PLAYER_IN_CHECK, inactiveIsWhite, 0, inactiveKingSquare);
+		return true;
+	}
+
+	/**
+	 * The en-passant square must be on the 3rd rank of the inactive player, with its pawn right in front of it,
+	 * 	and both the square and the one the pawn came from must be empty
+	 */
+	private boolean checkEnPassantSquare()
+	{
+		final int enPassantSquare = this.board.enPassantSquare();
+		if (enPassantSquare == Board.NO_EN_PASSANT_SQUARE)
+			return true;
+
+		final boolean whiteIsActive = this.board.whiteIsActive();
+		final int forward = whiteIsActive ? -8 : 8;
+		final long pushedPawns = this.board.bitboard(whiteIsActive ? Piece.BLACK_PAWN : Piece.WHITE_PAWN);
+		final long emptySquares = (1L << enPassantSquare) | (1L << (enPassantSquare - forward));
+
+		final boolean isPossible = (enPassantSquare >>> 3) == (whiteIsActive ? 5 : 2)
+			&& (pushedPawns & (1L << (enPassantSquare + forward))) != 0
+			&& (this.board.occupancy() & emptySquares) == 0;
+
+		if (!isPossible)
+			return this.fail(Failure.IMPOSSIBLE_EN_PASSANT, !whiteIsActive, 0, enPassantSquare);
+		return true;
+	}
+
+	private int count(final Piece piece)
+	{
+		return Long.bitCount(this.board.bitboard(piece));
+	}
+
+	private boolean fail(final Failure failure, final boolean isWhite, final int count, final int detail)
+	{
+		this.failure = failure;
+		this.failureIsWhite = isWhite;
+		this.failureCount = count;
+		this.failureDetail = detail;
+		return false;
+	}
+
+	private static String squareLabel(final int square)
+	{
+		return String.valueOf((char) ('a' + (square & 7))) + (char) ('1' + (square >>> 3));
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+public final class PawnOnBackRankException extends IllegalArgumentException
+{
+	public PawnOnBackRankException(final String square)
+	{
+		super("Position can't contain pawns on first or last rank, got one on " + square);
+	}
+}
@@ -0,0 +1,10 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+public final class PawnsCountException extends IllegalArgumentException
+{
+	public PawnsCountException(final String color, final int count)
+	{
+		super("Position can't contain more than 8 " + color + " pawns, got " + count);
+	}
+}
@@ -0,0 +1,16 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+public final class PromotedPiecesException extends IllegalArgumentException
+{
+	public PromotedPiecesException(final String color, final int promotedPieces, final int missingPawns)
+	{
+		super(String.format(
+			"Position contains at least %d promoted %s pieces, but only %d %s pawns are missing",
+			promotedPieces,
+			color,
+			missingPawns,
+			color
+		));
+	}
+}
@@ -0,0 +1,40 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+
+import java.util.Arrays;
+
+/**
+ * Castling rights are lost once a king or a rook leaves its initial square, or once a rook is taken there
+ */
+final class CastlingRights
+{
+	private static final int ALL = 0b1111;
+
+	private static final int[] KEPT_BY_SQUARE = new int[64];
+
+	static
+	{
+		Arrays.fill(KEPT_BY_SQUARE, ALL);
+
+		KEPT_BY_SQUARE[0] = ALL & ~Board.WHITE_QUEEN_SIDE_CASTLING; // a1
+		KEPT_BY_SQUARE[4] = ALL & ~(Board.WHITE_KING_SIDE_CASTLING | Board.WHITE_QUEEN_SIDE_CASTLING); // e1
+		KEPT_BY_SQUARE[7] = ALL & ~Board.WHITE_KING_SIDE_CASTLING; // h1
+		KEPT_BY_SQUARE[56] = ALL & ~Board.BLACK_QUEEN_SIDE_CASTLING; // a8
+		KEPT_BY_SQUARE[60] = ALL & ~(Board.BLACK_KING_SIDE_CASTLING | Board.BLACK_QUEEN_SIDE_CASTLING); // e8
+		KEPT_BY_SQUARE[63] = ALL & ~Board.BLACK_KING_SIDE_CASTLING; // h8
+	}
+
+	private CastlingRights()
+	{
+	}
+
+	/**
+	 * @return int - the mask of the castling rights surviving a move between both squares
+	 */
+	static int keptAfterMove(final int from, final int to)
+	{
+		return KEPT_BY_SQUARE[from] & KEPT_BY_SQUARE[to];
+	}
+}
@@ -0,0 +1,126 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+
+/**
+ * A move packed in 16 bits, so that move lists are plain arrays of shorts
+ *
+ * bits 0-5: origin square, from a1 = 0 to h8 = 63
+ * bits 6-11: target square
+ * bits 12-15: flags, bit 14 set for captures and bit 15 for promotions
+ *
+ * @see <a href="https://www.chessprogramming.org/Encoding_Moves">Encoding moves</a>
+ */
+public final class Move
+{
+	public static final int QUIET = 0b0000;
+
+	public static final int DOUBLE_PAWN_PUSH = 0b0001;
+
+	public static final int KING_SIDE_CASTLING = 0b0010;
+
+	public static final int QUEEN_SIDE_CASTLING = 0b0011;
+
+	public static final int CAPTURE = 0b0100;
+
+	public static final int EN_PASSANT_CAPTURE = 0b0101;
+
+	public static final int KNIGHT_PROMOTION = 0b1000;
+
+	public static final int BISHOP_PROMOTION = 0b1001;
+
+	public static final int ROOK_PROMOTION = 0b1010;
+
+	public static final int QUEEN_PROMOTION = 0b1011;
+
+	private static final int CAPTURE_FLAG = 0b0100;
+
+	private static final int PROMOTION_FLAG = 0b1000;
+
+	private static final int SQUARE_MASK = 0b11_1111;
+
+	private static final String PROMOTION_LETTERS = "nbrq";
+
+	private Move()
+	{
+	}
+
+	/**
+	 * @param flags - one of the move kinds, promotions being combined with CAPTURE when taking a piece
+	 */
+	public static int of(final int from, final int to, final int flags)
+	{
+		return from | (to << 6) | (flags << 12);
+	}
+
+	public static int from(final int move)
+	{
+		return move & SQUARE_MASK;
+	}
+
+	public static int to(final int move)
+	{
+		return (move >>> 6) & SQUARE_MASK;
+	}
+
+	public static int flags(final int move)
+	{
+		return (move >>> 12) & 0b1111;
+	}
+
+	public static boolean isCapture(final int move)
+	{
+		return (flags(move) & CAPTURE_FLAG) != 0;
+	}
+
+	public static boolean isPromotion(final int move)
+	{
+		return (flags(move) & PROMOTION_FLAG) != 0;
+	}
+
+	/**
+	 * @return Piece - the piece the pawn turns into, or null if the move isn't a promotion
+	 */
+	public static Piece promotedPiece(final int move, final boolean isWhite)
+	{
+		if (!isPromotion(move))
+			return null;
+
+		final int kind = Piece.WHITE_KNIGHT.ordinal() + (flags(move) & 0b11);
+		return Piece.fromIndex(isWhite ? kind : kind + Piece.BLACK_PAWN.ordinal());
+	}
+
+	/**
+	 * @return String - the move in UCI notation, such as e2e4 or a7a8q
+	 */
+	public static String toString(final int move)
+	{
+		final var notation = new StringBuilder(5)
+			.append(squareLabel(from(move)))
+			.append(squareLabel(to(move)));
+
+		if (isPromotion(move))
+			notation.append(PROMOTION_LETTERS.charAt(flags(move) & 0b11));
+
+		return notation.toString();
+	}
+
+	/**
+	 * @param move - a legal move of the board, as given by the MoveGenerator
+	 *
+	 * @return Board - a new board, with the move played, see MutablePosition to play several moves
+	 */
+	public static Board play(final Board board, final int move)
+	{
+		final var position = new MutablePosition(board);
+		position.makeMove(move);
+		return position.toBoard();
+	}
+
+	private static String squareLabel(final int square)
+	{
+		return String.valueOf((char) ('a' + (square & 7))) + (char) ('1' + (square >>> 3));
+	}
+}
@@ -0,0 +1,272 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Attacks;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.IBoard;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+
+/**
+ * Generates the legal moves of the active player, without playing them to check if they leave the king in check:
+ * 	the king avoids attacked squares, pinned pieces stay on their pin line, and when in check other pieces
+ * 	may only take the checker or block it
+ * Pawns on the first or last rank, which a fen allows, can't go anywhere so they don't move
+ *
+ * @see <a href="https://www.chessprogramming.org/Move_Generation">Move generation</a>
+ */
+public final class MoveGenerator
+{
+	private static final long RANK_1 = 0x0000_0000_0000_00ffL;
+
+	private static final long RANK_8 = 0xff00_0000_0000_0000L;
+
+	private static final long ALL_SQUARES = ~0L;
+
+	private MoveGenerator()
+	{
+	}
+
+	/**
+	 * @param moves - cleared, then filled with the legal moves
+	 */
+	public static void generateLegalMoves(final IBoard board, final MoveList moves)
+	{
+		moves.clear();
+
+		final boolean white = board.whiteIsActive();
+		final int ours = white ? 0 : Piece.BLACK_PAWN.ordinal();
+		final int theirs = Piece.BLACK_PAWN.ordinal() - ours;
+
+		final long ourPawns = bitboard(board, ours, Piece.WHITE_PAWN);
+		final long ourKnights = bitboard(board, ours, Piece.WHITE_KNIGHT);
+		final long ourBishops = bitboard(board, ours, Piece.WHITE_BISHOP);
+		final long ourRooks = bitboard(board, ours, Piece.WHITE_ROOK);
+		final long ourQueens = bitboard(board, ours, Piece.WHITE_QUEEN);
+		final int king = Long.numberOfTrailingZeros(bitboard(board, ours, Piece.WHITE_KING));
+
+		final long theirPawns = bitboard(board, theirs, Piece.WHITE_PAWN);
+		final long theirKnights = bitboard(board, theirs, Piece.WHITE_KNIGHT);
+		final long theirDiagonalSliders = bitboard(board, theirs, Piece.WHITE_BISHOP) | bitboard(board, theirs, Piece.WHITE_QUEEN);
+		final long theirStraightSliders = bitboard(board, theirs, Piece.WHITE_ROOK) | bitboard(board, theirs, Piece.WHITE_QUEEN);
+		final long theirKing = bitboard(board, theirs, Piece.WHITE_KING);
+
+		final long us = white ? board.whiteOccupancy() : board.blackOccupancy();
+		final long them = white ? board.blackOccupancy() : board.whiteOccupancy();
+		final long occupancy = us | them;
+
+		// squares the king can't go to, sliders seeing through it so that it can't step back along their line
+		final long dangers = attackedSquares(
+			!white,
+			occupancy ^ (1L << king),
+			theirPawns,
+			theirKnights,
+			theirDiagonalSliders,
+			theirStraightSliders,
+			theirKing
+		);
+
+		addMoves(moves, king, Attacks.king(king) & ~us & ~dangers, them);
+
+		final long checkers = (Attacks.pawn(white, king) & theirPawns)
+			| (Attacks.knight(king) & theirKnights)
+			| (Attacks.bishop(king, occupancy) & theirDiagonalSliders)
+			| (Attacks.rook(king, occupancy) & theirStraightSliders);
+
+		if (Long.bitCount(checkers) > 1)
+			return;
+
+		// when in check, other pieces can only take the checker or step between it and the king
+		final long evasions = checkers == 0
+			? ALL_SQUARES
+			: checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+
+		long pinned = 0;
+		long snipers = (Attacks.rook(king, 0) & theirStraightSliders) | (Attacks.bishop(king, 0) & theirDiagonalSliders);
+		for (; snipers != 0; snipers &= snipers - 1)
+		{
+			final long blockers = Attacks.between(king, Long.numberOfTrailingZeros(snipers)) & occupancy;
+			if (Long.bitCount(blockers) == 1)
+				pinned |= blockers & us;
+		}
+
+		final long targets = ~us & evasions;
+
+		// a pinned knight can never stay on its pin line
+		for (long knights = ourKnights & ~pinned; knights != 0; knights &= knights - 1)
+		{
+			final int from = Long.numberOfTrailingZeros(knights);
+			addMoves(moves, from, Attacks.knight(from) & targets, them);
+		}
+
+		for (long bishops = ourBishops | ourQueens; bishops != 0; bishops &= bishops - 1)
+		{
+			final int from = Long.numberOfTrailingZeros(bishops);
+			addMoves(moves, from, Attacks.bishop(from, occupancy) & targets & pinLine(pinned, king, from), them);
+		}
+
+		for (long rooks = ourRooks | ourQueens; rooks != 0; rooks &= rooks - 1)
+		{
+			final int from = Long.numberOfTrailingZeros(rooks);
+			addMoves(moves, from, Attacks.rook(from, occupancy) & targets & pinLine(pinned, king, from), them);
+		}
+
+		final long movablePawns = ourPawns & ~(RANK_1 | RANK_8);
+		generatePawnMoves(board, moves, white, movablePawns, king, pinned, evasions, them, occupancy);
+
+		if (checkers == 0)
+			generateCastlingMoves(board, moves, white, king, occupancy, dangers);
+	}
+
+	private static void generatePawnMoves(
+		final IBoard board,
+		final MoveList moves,
+		final boolean white,
+		final long pawns,
+		final int king,
+		final long pinned,
+		final long evasions,
+		final long them,
+		final long occupancy
+	) {
+		final int forward = white ? 8 : -8;
+		final long startingRank = white ? RANK_1 << 8 : RANK_8 >>> 8;
+		final long promotionRank = white ? RANK_8 : RANK_1;
+		final int enPassantSquare = board.enPassantSquare();
+
+		for (long remaining = pawns; remaining != 0; remaining &= remaining - 1)
+		{
+			final int from = Long.numberOfTrailingZeros(remaining);
+			final long allowed = evasions & pinLine(pinned, king, from);
+
+			long pushes = 0;
+			final long singlePush = 1L << (from + forward);
+			if ((occupancy & singlePush) == 0)
+			{
+				pushes = singlePush;
+
+				final long doublePush = 1L << (from + 2 * forward);
+				if (((1L << from) & startingRank) != 0 && (occupancy & doublePush) == 0 && (allowed & doublePush) != 0)
+					moves.add(Move.of(from, from + 2 * forward, Move.DOUBLE_PAWN_PUSH));
+			}
+
+			final long captures = Attacks.pawn(white, from) & them;
+			for (long targets = (pushes | captures) & allowed; targets != 0; targets &= targets - 1)
+			{
+				final int to = Long.numberOfTrailingZeros(targets);
+				final int captureFlag = (them & (1L << to)) != 0 ? Move.CAPTURE : 0;
+
+				if (((1L << to) & promotionRank) != 0)
+				{
+					moves.add(Move.of(from, to, Move.QUEEN_PROMOTION | captureFlag));
+					moves.add(Move.of(from, to, Move.ROOK_PROMOTION | captureFlag));
+					moves.add(Move.of(from, to, Move.BISHOP_PROMOTION | captureFlag));
+					moves.add(Move.of(from, to, Move.KNIGHT_PROMOTION | captureFlag));
+				}
+				else
+					moves.add(Move.of(from, to, captureFlag == 0 ? Move.QUIET : Move.CAPTURE));
+			}
+
+			if (enPassantSquare != Board.NO_EN_PASSANT_SQUARE
+				&& (Attacks.pawn(white, from) & (1L << enPassantSquare)) != 0
+				&& enPassantKeepsKingSafe(board, white, from, enPassantSquare, king, occupancy))
+				moves.add(Move.of(from, enPassantSquare, Move.EN_PASSANT_CAPTURE));
+		}
+	}
+
+	/**
+	 * En-passant removes 2 pieces from a same rank at once, which pins can't tell, so the resulting position is checked
+	 */
+	private static boolean enPassantKeepsKingSafe(
+		final IBoard board,
+		final boolean white,
+		final int from,
+		final int enPassantSquare,
+		final int king,
+		final long occupancy
+	) {
+		final int theirs = white ? Piece.BLACK_PAWN.ordinal() : 0;
+		final long capturedPawn = 1L << (white ? enPassantSquare - 8 : enPassantSquare + 8);
+		final long occupancyAfter = (occupancy ^ (1L << from) ^ capturedPawn) | (1L << enPassantSquare);
+
+		final long theirDiagonalSliders = bitboard(board, theirs, Piece.WHITE_BISHOP) | bitboard(board, theirs, Piece.WHITE_QUEEN);
+		final long theirStraightSliders = bitboard(board, theirs, Piece.WHITE_ROOK) | bitboard(board, theirs, Piece.WHITE_QUEEN);
+
+		return (Attacks.pawn(white, king) & bitboard(board, theirs, Piece.WHITE_PAWN) & ~capturedPawn) == 0
+			&& (Attacks.knight(king) & bitboard(board, theirs, Piece.WHITE_KNIGHT)) == 0
+			&& (Attacks.bishop(king, occupancyAfter) & theirDiagonalSliders) == 0
+			&& (Attacks.rook(king, occupancyAfter) & theirStraightSliders) == 0;
+	}
+
+	private static void generateCastlingMoves(
+		final IBoard board,
+		final MoveList moves,
+		final boolean white,
+		final int king,
+		final long occupancy,
+		final long dangers
+	) {
+		final int castlingRights = board.castlingRights();
+		final int kingSide = white ? Board.WHITE_KING_SIDE_CASTLING : Board.BLACK_KING_SIDE_CASTLING;
+		final int queenSide = white ? Board.WHITE_QUEEN_SIDE_CASTLING : Board.BLACK_QUEEN_SIDE_CASTLING;
+
+		if ((castlingRights & kingSide) != 0)
+		{
+			final long path = (1L << (king + 1)) | (1L << (king + 2));
+			if ((occupancy & path) == 0 && (dangers & path) == 0)
+				moves.add(Move.of(king, king + 2, Move.KING_SIDE_CASTLING));
+		}
+
+		if ((castlingRights & queenSide) != 0)
+		{
+			final long path = (1L << (king - 1)) | (1L << (king - 2));
+			final long rookPath = path | (1L << (king - 3));
+			if ((occupancy & rookPath) == 0 && (dangers & path) == 0)
+				moves.add(Move.of(king, king - 2, Move.QUEEN_SIDE_CASTLING));
+		}
+	}
+
+	/**
+	 * @return long - every square if the piece isn't pinned, else the line it is pinned along
+	 */
+	private static long pinLine(final long pinned, final int king, final int square)
+	{
+		return (pinned & (1L << square)) == 0 ? ALL_SQUARES : Attacks.line(king, square);
+	}
+
+	private static long attackedSquares(
+		final boolean byWhite,
+		final long occupancy,
+		final long pawns,
+		final long knights,
+		final long diagonalSliders,
+		final long straightSliders,
+		final long king
+	) {
+		long attacked = byWhite
+			? ((pawns << 7) & ~0x8080_8080_8080_8080L) | ((pawns << 9) & ~0x0101_0101_0101_0101L)
+			: ((pawns >>> 9) & ~0x8080_8080_8080_8080L) | ((pawns >>> 7) & ~0x0101_0101_0101_0101L);
+
+		for (long remaining = knights; remaining != 0; remaining &= remaining - 1)
+			attacked |= Attacks.knight(Long.numberOfTrailingZeros(remaining));
+		for (long remaining = diagonalSliders; remaining != 0; remaining &= remaining - 1)
+			attacked |= Attacks.bishop(Long.numberOfTrailingZeros(remaining), occupancy);
+		for (long remaining = straightSliders; remaining != 0; remaining &= remaining - 1)
+			attacked |= Attacks.rook(Long.numberOfTrailingZeros(remaining), occupancy);
+
+		return attacked | Attacks.king(Long.numberOfTrailingZeros(king));
+	}
+
+	private static void addMoves(final MoveList moves, final int from, final long targets, final long them)
+	{
+		for (long remaining = targets; remaining != 0; remaining &= remaining - 1)
+		{
+			final int to = Long.numberOfTrailingZeros(remaining);
+			moves.add(Move.of(from, to, (them & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET));
+		}
+	}
+
+	private static long bitboard(final IBoard board, final int colorOffset, final Piece whitePiece)
+	{
+		return board.bitboard(Piece.fromIndex(colorOffset + whitePiece.ordinal()));
+	}
+}
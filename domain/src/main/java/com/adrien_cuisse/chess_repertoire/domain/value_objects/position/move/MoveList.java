@@ -0,0 +1,52 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+/**
+ * A reusable list of packed moves, meant to be cleared and refilled rather than reallocated
+ */
+public final class MoveList
+{
+	/**
+	 * No legal position allows more moves than that
+	 */
+	private static final int CAPACITY = 256;
+
+	private final short[] moves = new short[CAPACITY];
+
+	private int size = 0;
+
+	public void clear()
+	{
+		this.size = 0;
+	}
+
+	void add(final int move)
+	{
+		this.moves[this.size++] = (short) move;
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * @return int - the packed move, see Move to read it
+	 */
+	public int get(final int index)
+	{
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException(index);
+		return this.moves[index] & 0xffff;
+	}
+
+	public boolean contains(final int move)
+	{
+		for (int index = 0; index < this.size; index++)
+		{
+			if ((this.moves[index] & 0xffff) == move)
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,322 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.IBoard;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.ZobristKeys;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.NullFenException;
+
+import java.util.Arrays;
+
+/**
+ * A position moves are played on and taken back in place, to replay games without building a board at every ply
+ *
+ * Bitboards, game state and Zobrist key are updated incrementally, and what can't be deduced back from a move
+ * 	is kept on a stack to unmake it
+ */
+public final class MutablePosition implements IBoard
+{
+	private static final int NO_PIECE = -1;
+
+	private static final int INITIAL_HISTORY_CAPACITY = 128;
+
+	private static final int CAPTURED_PIECE_SHIFT = 16;
+
+	private static final int CASTLING_RIGHTS_SHIFT = 20;
+
+	private static final int EN_PASSANT_SQUARE_SHIFT = 24;
+
+	private static final int PLIES_COUNTER_SHIFT = 32;
+
+	private final long[] bitboards = new long[12];
+
+	/**
+	 * The index of the piece on each square, or NO_PIECE, to find captured pieces without scanning bitboards
+	 */
+	private final byte[] pieces = new byte[64];
+
+	private boolean whiteIsActive;
+
+	private int castlingRights;
+
+	private int enPassantSquare;
+
+	private int pliesCounter;
+
+	private int turnsCounter;
+
+	private long zobristKey;
+
+	/**
+	 * bits 0-15: move
+	 * bits 16-19: index of the captured piece, 0xf if none
+	 * bits 20-23: castling rights before the move
+	 * bits 24-30: en-passant square before the move, 64 if none
+	 * bits 32-47: plies counter before the move
+	 */
+	private long[] undoneStates = new long[INITIAL_HISTORY_CAPACITY];
+
+	private long[] undoneKeys = new long[INITIAL_HISTORY_CAPACITY];
+
+	private int historySize = 0;
+
+	/**
+	 * @throws NullFenException - if fen is null
+	 */
+	public MutablePosition(final Fen fen)
+	{
+		this(requireFen(fen).board());
+	}
+
+	public MutablePosition(final Board board)
+	{
+		Arrays.fill(this.pieces, (byte) NO_PIECE);
+
+		for (int index = 0; index < this.bitboards.length; index++)
+		{
+			this.bitboards[index] = board.bitboard(Piece.fromIndex(index));
+			for (long squares = this.bitboards[index]; squares != 0; squares &= squares - 1)
+				this.pieces[Long.numberOfTrailingZeros(squares)] = (byte) index;
+		}
+
+		this.whiteIsActive = board.whiteIsActive();
+		this.castlingRights = board.castlingRights();
+		this.enPassantSquare = board.enPassantSquare();
+		this.pliesCounter = board.pliesCounter();
+		this.turnsCounter = board.turnsCounter();
+		this.zobristKey = board.zobristKey();
+	}
+
+	/**
+	 * @param move - a legal move of the position, as given by the MoveGenerator
+	 */
+	public void makeMove(final int move)
+	{
+		final int from = Move.from(move);
+		final int to = Move.to(move);
+		final int flags = Move.flags(move);
+		final int movedPiece = this.pieces[from];
+		final int forward = this.whiteIsActive ? 8 : -8;
+		final int capturedSquare = flags == Move.EN_PASSANT_CAPTURE ? to - forward : to;
+		final int capturedPiece = Move.isCapture(move) ? this.pieces[capturedSquare] : NO_PIECE;
+
+		this.pushHistory(move, capturedPiece);
+
+		long key = this.zobristKey ^ ZobristKeys.ofCastlingRights(this.castlingRights) ^ ZobristKeys.ofBlackIsActive();
+		if (this.enPassantSquare != Board.NO_EN_PASSANT_SQUARE)
+			key ^= ZobristKeys.ofEnPassantFile(this.enPassantSquare & 7);
+
+		if (capturedPiece != NO_PIECE)
+			key ^= this.removePiece(capturedPiece, capturedSquare);
+
+		key ^= this.removePiece(movedPiece, from);
+		if (Move.isPromotion(move))
+			key ^= this.putPiece(Move.promotedPiece(move, this.whiteIsActive).ordinal(), to);
+		else
+			key ^= this.putPiece(movedPiece, to);
+
+		if (flags == Move.KING_SIDE_CASTLING)
+			key ^= this.moveRook(from + 3, from + 1);
+		else if (flags == Move.QUEEN_SIDE_CASTLING)
+			key ^= this.moveRook(from - 4, from - 1);
+
+		this.castlingRights &= CastlingRights.keptAfterMove(from, to);
+		key ^= ZobristKeys.ofCastlingRights(this.castlingRights);
+
+		if (flags == Move.DOUBLE_PAWN_PUSH)
+		{
+			this.enPassantSquare = from + forward;
+			key ^= ZobristKeys.ofEnPassantFile(this.enPassantSquare & 7);
+		}
+		else
+			this.enPassantSquare = Board.NO_EN_PASSANT_SQUARE;
+
+		final boolean resetsPlies = movedPiece == pawnIndex(this.whiteIsActive) || capturedPiece != NO_PIECE;
+		this.pliesCounter = resetsPlies ? 0 : Math.min(this.pliesCounter + 1, Board.MAX_PLIES_COUNTER);
+		if (!this.whiteIsActive)
+			this.turnsCounter++;
+
+		this.whiteIsActive = !this.whiteIsActive;
+		this.zobristKey = key;
+	}
+
+	/**
+	 * Takes back the last move made
+	 *
+	 * @throws IllegalStateException - if no move was made
+	 */
+	public void unmakeMove()
+	{
+		if (this.historySize == 0)
+			throw new IllegalStateException("Position has no move to unmake");
+
+		this.historySize--;
+		final long state = this.undoneStates[this.historySize];
+		final int move = (int) (state & 0xffff);
+		final int capturedPiece = (int) ((state >>> CAPTURED_PIECE_SHIFT) & 0xf);
+		final int enPassantSquare = (int) ((state >>> EN_PASSANT_SQUARE_SHIFT) & 0x7f);
+
+		this.whiteIsActive = !this.whiteIsActive;
+		if (!this.whiteIsActive)
+			this.turnsCounter--;
+
+		final int from = Move.from(move);
+		final int to = Move.to(move);
+		final int flags = Move.flags(move);
+
+		if (flags == Move.KING_SIDE_CASTLING)
+			this.moveRook(from + 1, from + 3);
+		else if (flags == Move.QUEEN_SIDE_CASTLING)
+			this.moveRook(from - 1, from - 4);
+
+		final int landedPiece = this.pieces[to];
+		this.removePiece(landedPiece, to);
+		this.putPiece(Move.isPromotion(move) ? pawnIndex(this.whiteIsActive) : landedPiece, from);
+
+		if (capturedPiece != 0xf)
+		{
+			final int capturedSquare = flags == Move.EN_PASSANT_CAPTURE ? (this.whiteIsActive ? to - 8 : to + 8) : to;
+			this.putPiece(capturedPiece, capturedSquare);
+		}
+
+		this.castlingRights = (int) ((state >>> CASTLING_RIGHTS_SHIFT) & 0xf);
+		this.enPassantSquare = enPassantSquare == 64 ? Board.NO_EN_PASSANT_SQUARE : enPassantSquare;
+		this.pliesCounter = (int) ((state >>> PLIES_COUNTER_SHIFT) & 0xffff);
+		this.zobristKey = this.undoneKeys[this.historySize];
+	}
+
+	/**
+	 * @return long - the same key as the one of the matching Board, kept up to date move after move
+	 */
+	public long zobristKey()
+	{
+		return this.zobristKey;
+	}
+
+	/**
+	 * @return Board - an immutable copy of the current position
+	 */
+	public Board toBoard()
+	{
+		return new Board(
+			this.bitboards,
+			this.whiteIsActive,
+			this.castlingRights,
+			this.enPassantSquare,
+			this.pliesCounter,
+			this.turnsCounter
+		);
+	}
+
+	/**
+	 * @return Fen - the fen of the current position, only built when asked
+	 */
+	public Fen toFen()
+	{
+		return Fen.of(this.toBoard());
+	}
+
+	@Override
+	public long bitboard(final Piece piece)
+	{
+		return this.bitboards[piece.ordinal()];
+	}
+
+	@Override
+	public long whiteOccupancy()
+	{
+		final long[] bitboards = this.bitboards;
+		return bitboards[0] | bitboards[1] | bitboards[2] | bitboards[3] | bitboards[4] | bitboards[5];
+	}
+
+	@Override
+	public long blackOccupancy()
+	{
+		final long[] bitboards = this.bitboards;
+		return bitboards[6] | bitboards[7] | bitboards[8] | bitboards[9] | bitboards[10] | bitboards[11];
+	}
+
+	@Override
+	public boolean whiteIsActive()
+	{
+		return this.whiteIsActive;
+	}
+
+	@Override
+	public int castlingRights()
+	{
+		return this.castlingRights;
+	}
+
+	@Override
+	public int enPassantSquare()
+	{
+		return this.enPassantSquare;
+	}
+
+	public int pliesCounter()
+	{
+		return this.pliesCounter;
+	}
+
+	public int turnsCounter()
+	{
+		return this.turnsCounter;
+	}
+
+	private void pushHistory(final int move, final int capturedPiece)
+	{
+		if (this.historySize == this.undoneStates.length)
+		{
+			this.undoneStates = Arrays.copyOf(this.undoneStates, this.historySize * 2);
+			this.undoneKeys = Arrays.copyOf(this.undoneKeys, this.historySize * 2);
+		}
+
+		final int enPassantBits = this.enPassantSquare == Board.NO_EN_PASSANT_SQUARE ? 64 : this.enPassantSquare;
+
+		this.undoneStates[this.historySize] = move
+			| ((long) (capturedPiece & 0xf) << CAPTURED_PIECE_SHIFT)
+			| ((long) this.castlingRights << CASTLING_RIGHTS_SHIFT)
+			| ((long) enPassantBits << EN_PASSANT_SQUARE_SHIFT)
+			| ((long) this.pliesCounter << PLIES_COUNTER_SHIFT);
+		this.undoneKeys[this.historySize] = this.zobristKey;
+		this.historySize++;
+	}
+
+	/**
+	 * @return long - the Zobrist key of the piece on the square, to xor with the position key
+	 */
+	private long removePiece(final int piece, final int square)
+	{
+		this.bitboards[piece] ^= 1L << square;
+		this.pieces[square] = NO_PIECE;
+		return ZobristKeys.ofPiece(Piece.fromIndex(piece), square);
+	}
+
+	private long putPiece(final int piece, final int square)
+	{
+		this.bitboards[piece] |= 1L << square;
+		this.pieces[square] = (byte) piece;
+		return ZobristKeys.ofPiece(Piece.fromIndex(piece), square);
+	}
+
+	private long moveRook(final int from, final int to)
+	{
+		final int rook = this.pieces[from];
+		return this.removePiece(rook, from) ^ this.putPiece(rook, to);
+	}
+
+	private static int pawnIndex(final boolean isWhite)
+	{
+		return isWhite ? Piece.WHITE_PAWN.ordinal() : Piece.BLACK_PAWN.ordinal();
+	}
+
+	private static Fen requireFen(final Fen fen)
+	{
+		if (fen == null)
+			throw new NullFenException();
+		return fen;
+	}
+}
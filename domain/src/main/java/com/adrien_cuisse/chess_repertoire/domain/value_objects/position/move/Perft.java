@@ -0,0 +1,80 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+
+/**
+ * Counts the leaves of the moves tree up to a given depth, which is compared to well-known counts
+ * 	to check the move generator, and timed to measure its speed
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft_Results">Perft results</a>
+ */
+public final class Perft
+{
+	private final MoveList[] movesByPly;
+
+	private long nodes;
+
+	private long elapsedNanos;
+
+	/**
+	 * @param maxDepth - the deepest count this instance will be asked, a move list being kept for each ply
+	 */
+	public Perft(final int maxDepth)
+	{
+		this.movesByPly = new MoveList[Math.max(1, maxDepth)];
+		for (int ply = 0; ply < this.movesByPly.length; ply++)
+			this.movesByPly[ply] = new MoveList();
+	}
+
+	/**
+	 * @return long - the count of positions reached after exactly depth plies
+	 */
+	public long run(final Board board, final int depth)
+	{
+		if (depth > this.movesByPly.length)
+			throw new IllegalArgumentException("Perft can't go deeper than " + this.movesByPly.length + ", got " + depth);
+
+		final long start = System.nanoTime();
+		this.nodes = depth == 0 ? 1 : this.count(new MutablePosition(board), depth, 0);
+		this.elapsedNanos = System.nanoTime() - start;
+
+		return this.nodes;
+	}
+
+	/**
+	 * @return long - the count of the last run
+	 */
+	public long nodes()
+	{
+		return this.nodes;
+	}
+
+	/**
+	 * @return long - the speed of the last run
+	 */
+	public long nodesPerSecond()
+	{
+		return this.elapsedNanos == 0 ? 0 : this.nodes * 1_000_000_000L / this.elapsedNanos;
+	}
+
+	private long count(final MutablePosition position, final int depth, final int ply)
+	{
+		final MoveList moves = this.movesByPly[ply];
+		MoveGenerator.generateLegalMoves(position, moves);
+
+		// leaves don't need to be played to be counted
+		if (depth == 1)
+			return moves.size();
+
+		long nodes = 0;
+		for (int index = 0; index < moves.size(); index++)
+		{
+			position.makeMove(moves.get(index));
+			nodes += this.count(position, depth - 1, ply + 1);
+			position.unmakeMove();
+		}
+
+		return nodes;
+	}
+}
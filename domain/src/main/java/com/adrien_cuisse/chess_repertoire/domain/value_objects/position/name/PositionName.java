@@ -2,19 +2,40 @@
 package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.name;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
 
 public final class PositionName implements IValueObject
 {
+	private static final ParseFailure NULL_FAILURE = new ParseFailure(NullPositionNameException.class, NullPositionNameException::new);
+
+	private static final ParseFailure EMPTY_FAILURE = new ParseFailure(EmptyPositionNameException.class, EmptyPositionNameException::new);
+
 	private final String name;
 
+	private final int hashCode;
+
 	public PositionName(final String name)
 	{
-		if (name == null)
-			throw new NullPositionNameException();
+		this(normalized(name));
+	}
+
+	/**
+	 * Takes the already normalized name, so that tryParse doesn't normalize it twice
+	 */
+	private PositionName(final ParseResult<String> normalized)
+	{
+		this.name = normalized.orElseThrow();
+		this.hashCode = this.name.hashCode();
+	}
 
-		this.name = name.trim().replaceAll("\\s+", " ");
-		if (this.name.equals(""))
-			throw new EmptyPositionNameException();
+	/**
+	 * @return ParseResult<PositionName> - the name, or the failure the constructor would have thrown
+	 */
+	public static ParseResult<PositionName> tryParse(final String name)
+	{
+		final ParseResult<String> normalized = normalized(name);
+		return normalized.map(value -> new PositionName(normalized));
 	}
 
 	@Override
@@ -25,8 +46,32 @@ public final class PositionName implements IValueObject
 		return false;
 	}
 
+	@Override
+	public boolean equals(final Object other)
+	{
+		return other instanceof IValueObject valueObject && this.equals(valueObject);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return this.hashCode;
+	}
+
 	public String toString()
 	{
 		return this.name;
 	}
+
+	private static ParseResult<String> normalized(final String name)
+	{
+		if (name == null)
+			return ParseResult.invalid(NULL_FAILURE);
+
+		final String normalized = name.trim().replaceAll("\\s+", " ");
+		if (normalized.equals(""))
+			return ParseResult.invalid(EMPTY_FAILURE);
+
+		return ParseResult.valid(normalized);
+	}
 }
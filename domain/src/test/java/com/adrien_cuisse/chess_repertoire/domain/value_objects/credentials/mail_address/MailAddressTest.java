@@ -7,8 +7,12 @@ import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.HashSet;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public final class MailAddressTest
 {
@@ -111,4 +115,57 @@ public final class MailAddressTest
 			"Mail address shouldn't contain whitespaces"
 		);
 	}
+
+    public static Object[][] invalidMailAddresses()
+    {
+        return new Object[][] {
+            { null, NullMailAddressException.class },
+            { "  ", EmptyMailAddressException.class },
+            { "foo.bar", InvalidMailAddressException.class },
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidMailAddresses")
+    public void reportsFailureWithoutThrowing(final String invalidMailAddress, final Class<? extends IllegalArgumentException> expectedFailure)
+    {
+        // given an invalid mail address
+
+        // when parsing it without throwing
+        final var result = MailAddress.tryParse(invalidMailAddress);
+
+        // then the failure should be the one the constructor would throw
+        assertFalse(result.isValid(), "Mail address should be invalid");
+        assertTrue(result.failure().get().is(expectedFailure), "Mail address should fail with " + expectedFailure.getSimpleName());
+        assertThrows(expectedFailure, result::orElseThrow, "Failure should be thrown when asked");
+    }
+
+    @Test
+    public void isParsedWithoutThrowing()
+    {
+        // given a valid mail address
+        final String validMailAddress = "foo @bar.com";
+
+        // when parsing it without throwing
+        final var result = MailAddress.tryParse(validMailAddress);
+
+        // then it should be the same as the constructor's one
+        assertTrue(result.isValid(), "Mail address should be valid");
+        assertEquals(new MailAddress(validMailAddress).toString(), result.value().get().toString(), "Mail address should be parsed");
+    }
+
+    @Test
+    public void isUsableAsSetElement()
+    {
+        // given a mail address, and the same one with spaces
+        final var addresses = new HashSet<MailAddress>();
+        addresses.add(new MailAddress("foo@bar.com"));
+
+        // when adding the other one
+        final boolean added = addresses.add(new MailAddress("foo @bar.com"));
+
+        // then it should be found as already there
+        assertFalse(added, "Same mail address shouldn't be added twice");
+        assertEquals(1, addresses.size(), "Set should hold a single mail address");
+    }
 }
@@ -7,8 +7,12 @@ import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.HashMap;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public final class NicknameTest
 {
@@ -104,4 +108,57 @@ public final class NicknameTest
         // then it should be the expected equality
         assertEquals(expectedEquality, areTheSame, errorMessage);
     }
+
+    public static Object[][] invalidNicknames()
+    {
+        return new Object[][] {
+            { null, NullNicknameException.class },
+            { "  ", EmptyNicknameException.class },
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidNicknames")
+    public void reportsFailureWithoutThrowing(final String invalidNickname, final Class<? extends IllegalArgumentException> expectedFailure)
+    {
+        // given an invalid nickname
+
+        // when parsing it without throwing
+        final var result = Nickname.tryParse(invalidNickname);
+
+        // then the failure should be the one the constructor would throw
+        assertFalse(result.isValid(), "Nickname should be invalid");
+        assertTrue(result.failure().get().is(expectedFailure), "Nickname should fail with " + expectedFailure.getSimpleName());
+        assertThrows(expectedFailure, result::orElseThrow, "Failure should be thrown when asked");
+    }
+
+    @Test
+    public void isParsedWithoutThrowing()
+    {
+        // given a valid nickname
+        final String validNickname = " foo  bar ";
+
+        // when parsing it without throwing
+        final var result = Nickname.tryParse(validNickname);
+
+        // then it should be the same as the constructor's one
+        assertTrue(result.isValid(), "Nickname should be valid");
+        assertEquals(new Nickname(validNickname).toString(), result.value().get().toString(), "Nickname should be parsed");
+    }
+
+    @Test
+    public void isUsableAsMapKey()
+    {
+        // given a nickname, and the same one differently spaced
+        final var nickname = new Nickname("foo bar");
+        final var sameNickname = new Nickname("  foo   bar ");
+
+        // when using one as key, and looking up with the other
+        final var map = new HashMap<Nickname, String>();
+        map.put(nickname, "foo");
+
+        // then the entry should be found
+        assertEquals(nickname.hashCode(), sameNickname.hashCode(), "Same nicknames should have the same hash");
+        assertEquals("foo", map.get(sameNickname), "Same nicknames should match as map keys");
+    }
 }
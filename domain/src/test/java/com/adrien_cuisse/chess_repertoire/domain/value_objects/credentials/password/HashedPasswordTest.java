@@ -93,4 +93,19 @@ public final class HashedPasswordTest
 			"Password should be unchanged"
 		);
 	}
+
+	@Test
+	public void doesNotEqualPlainPassword()
+	{
+		// given a hashed password, and a plain one with the same characters
+		final Object hash = new HashedPassword("hash");
+		final Object password = new PlainPassword("hash");
+
+		// when comparing them as plain objects
+		final boolean areTheSame = hash.equals(password);
+
+		// then they shouldn't be equal, even if their hashes collide
+		assertFalse(areTheSame, "Hashed password shouldn't equal a plain one");
+		assertEquals(hash, new HashedPassword("hash"), "Hashed password should equal the same hash");
+	}
 }
@@ -110,4 +110,18 @@ public final class PlainPasswordTest
 			"Password should be unchanged"
 		);
 	}
+
+	@Test
+	public void hashesLikeSamePassword()
+	{
+		// given 2 instances of a same password
+		final Object password = new PlainPassword("mR8.aZ1{zI1*pP5");
+		final Object samePassword = new PlainPassword("mR8.aZ1{zI1*pP5");
+
+		// when comparing them as plain objects
+
+		// then they should be equal, with the same hash
+		assertEquals(password, samePassword, "Same passwords should be equal");
+		assertEquals(password.hashCode(), samePassword.hashCode(), "Same passwords should have the same hash");
+	}
 }
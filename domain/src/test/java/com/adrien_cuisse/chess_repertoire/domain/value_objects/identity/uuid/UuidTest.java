@@ -10,6 +10,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -405,6 +406,59 @@ public final class UuidTest
         );
     }
 
+    public static Object[][] malformedStrings()
+    {
+        return new Object[][] {
+            { "" },
+            { "------------------------------------" },
+            { "000000000-000-0000-0000-000000000000" },
+            { "00000000-0000-0000-0000-0000000000000" },
+            { "00000000-0000-0000-0000-00000000000" },
+            { "00000000-0000-0000-0000-000000000000-" },
+            { "00000000_0000_0000_0000_000000000000" },
+            { "00000000-0000-0000-0000-00000000000A" },
+            { "00000000-0000-0000-0000-00000000000\u00e9" },
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("malformedStrings")
+    public void requiresCanonicalLayout(final String invalidFormat)
+    {
+        // given a string not laid out as 8-4-4-4-12 lowercase hex digits
+
+        // when trying to create a UUID from it
+        final Executable instantiation = () -> new Uuid(invalidFormat, 0);
+
+        // then an exception should be thrown
+        assertThrows(
+            InvalidUuidFormatException.class,
+            instantiation,
+            "Uuid shouldn't be created from " + invalidFormat
+        );
+    }
+
+    @Test
+    public void parsesBackItsString()
+    {
+        final var random = new Random(42);
+
+        for (int attempt = 0; attempt < 1000; attempt++)
+        {
+            // given a UUID with random bits
+            final var bytes = new byte[16];
+            random.nextBytes(bytes);
+            final var uuid = new Uuid(bytes, 4);
+
+            // when parsing its string
+            final var parsed = new Uuid(uuid.toString(), 4);
+
+            // then it should hold the same bits
+            assertEquals(uuid.mostSignificantBits(), parsed.mostSignificantBits(), "High bits should be parsed back from " + uuid);
+            assertEquals(uuid.leastSignificantBits(), parsed.leastSignificantBits(), "Low bits should be parsed back from " + uuid);
+        }
+    }
+
     public static Object[][] comparison()
     {
         final var uuid = new Uuid(nullBytesAndVersion(1));
@@ -443,4 +497,43 @@ public final class UuidTest
         // then it should match the expected equality
         assertEquals(expectedEquality, areTheSame, errorMessage);
     }
+
+    @Test
+    public void encodesEveryOctet()
+    {
+        for (int first = 0; first < 256; first += 16)
+        {
+            // given bytes covering 16 distinct octet values
+            final var bytes = new byte[16];
+            for (int index = 0; index < bytes.length; index++)
+                bytes[index] = (byte) (first + index);
+
+            // when making a UUID of them
+            final String actualFormat = new Uuid(bytes).toString();
+
+            // then each octet should be written as 2 lowercase hex digits
+            final var expectedFormat = new StringBuilder();
+            for (int index = 0; index < bytes.length; index++)
+            {
+                if (index == 4 || index == 6 || index == 8 || index == 10)
+                    expectedFormat.append('-');
+                expectedFormat.append(String.format("%02x", bytes[index]));
+            }
+            assertEquals(expectedFormat.toString(), actualFormat, "Octets should be written in hexadecimal");
+        }
+    }
+
+    @Test
+    public void computesStringOnce()
+    {
+        // given a UUID
+        final var uuid = new Uuid(new byte[16]);
+
+        // when writing it twice
+        final String first = uuid.toString();
+        final String second = uuid.toString();
+
+        // then the same string should be given back
+        assertSame(first, second, "String should be cached");
+    }
 }
@@ -8,7 +8,10 @@ import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -165,4 +168,151 @@ public final class UuidV4Test
             "String representation shouldn't contain spaces"
         );
     }
+
+    public static Object[][] invalidUuids()
+    {
+        return new Object[][] {
+            { null, NullUuidException.class },
+            { "not-a-uuid", InvalidUuidFormatException.class },
+            { "00000000-0000-1000-0000-000000000000", InvalidUuidVersionException.class },
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidUuids")
+    public void reportsFailureWithoutThrowing(final String invalidUuid, final Class<? extends IllegalArgumentException> expectedFailure)
+    {
+        // given an invalid uuid
+
+        // when parsing it without throwing
+        final var result = UuidV4.tryParse(invalidUuid);
+
+        // then the failure should be the one the constructor would throw
+        assertFalse(result.isValid(), "Uuid should be invalid");
+        assertTrue(result.failure().get().is(expectedFailure), "Uuid should fail with " + expectedFailure.getSimpleName());
+        assertThrows(expectedFailure, result::orElseThrow, "Failure should be thrown when asked");
+    }
+
+    @Test
+    public void isParsedWithoutThrowing()
+    {
+        // given a valid uuid
+        final String validUuid = "00000000-0000-4000-8000-000000000000";
+
+        // when parsing it without throwing
+        final var result = UuidV4.tryParse(validUuid);
+
+        // then it should be the same as the constructor's one
+        assertTrue(result.isValid(), "Uuid should be valid");
+        assertEquals(new UuidV4(validUuid).toString(), result.value().get().toString(), "Uuid should be parsed");
+    }
+
+    @Test
+    public void isBackedByTwoLongs()
+    {
+        // given a UUID made from a string
+        final var uuid = new UuidV4("01234567-89ab-4def-8123-456789abcdef");
+
+        // when checking its bits
+        final long mostSignificantBits = uuid.mostSignificantBits();
+        final long leastSignificantBits = uuid.leastSignificantBits();
+
+        // then they should be the digits of the string
+        assertEquals(0x0123_4567_89ab_4defL, mostSignificantBits, "First 16 digits should be the most significant bits");
+        assertEquals(0x8123_4567_89ab_cdefL, leastSignificantBits, "Last 16 digits should be the least significant bits");
+    }
+
+    @Test
+    public void isUsableAsMapKey()
+    {
+        // given 2 distinct instances of a same UUID
+        final var uuid = new UuidV4();
+        final var sameUuid = new UuidV4(uuid.toString());
+
+        // when using one as key, and looking up with the other
+        final var map = new HashMap<UuidV4, String>();
+        map.put(uuid, "foo");
+
+        // then the entry should be found
+        assertEquals(uuid.hashCode(), sameUuid.hashCode(), "Same UUIDs should have the same hash");
+        assertEquals("foo", map.get(sameUuid), "Same UUIDs should match as map keys");
+    }
+
+    @Test
+    public void isWrittenAs16Bytes()
+    {
+        // given a UUID
+        final var uuid = new UuidV4("01234567-89ab-4def-8123-456789abcdef");
+
+        // when getting its binary form
+        final byte[] bytes = uuid.toBytes();
+
+        // then it should be its digits, big-endian
+        assertArrayEquals(
+            new byte[] {
+                0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, 0x4d, (byte) 0xef,
+                (byte) 0x81, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef
+            },
+            bytes,
+            "UUID should be written as its 16 bytes"
+        );
+    }
+
+    public static Object[][] byteOrders()
+    {
+        return new Object[][] {
+            { ByteOrder.BIG_ENDIAN },
+            { ByteOrder.LITTLE_ENDIAN },
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("byteOrders")
+    public void isReadBackFromBuffer(final ByteOrder order)
+    {
+        // given 2 UUIDs written one after the other in a buffer
+        final var first = new UuidV4();
+        final var second = new UuidV4();
+        final var buffer = ByteBuffer.allocate(2 * IUuid.BYTES).order(order);
+        first.writeTo(buffer);
+        second.writeTo(buffer);
+        buffer.flip();
+
+        // when reading them back
+        final var firstRead = UuidV4.readFrom(buffer);
+        final var secondRead = UuidV4.readFrom(buffer);
+
+        // then they should be the same, and the buffer fully read
+        assertTrue(firstRead.equals(first), "First UUID should be read back");
+        assertTrue(secondRead.equals(second), "Second UUID should be read back");
+        assertEquals(0, buffer.remaining(), "Both UUIDs should have been consumed");
+        assertArrayEquals(first.toBytes(), Arrays.copyOfRange(buffer.array(), 0, IUuid.BYTES), "Bytes should be big-endian whatever the buffer order");
+    }
+
+    @Test
+    public void requires16BytesToRead()
+    {
+        // given a buffer too short for a UUID
+        final var buffer = ByteBuffer.allocate(IUuid.BYTES - 1);
+
+        // when trying to read a UUID from it
+        final Executable reading = () -> UuidV4.readFrom(buffer);
+
+        // then there should be an error, and nothing consumed
+        assertThrows(InvalidUuidBytesCountException.class, reading, "UUID shouldn't be read from 15 bytes");
+        assertEquals(0, buffer.position(), "Buffer shouldn't be consumed");
+    }
+
+    @Test
+    public void requiresVersion4BytesToRead()
+    {
+        // given the bytes of a version 7 UUID
+        final var buffer = ByteBuffer.wrap(new UuidV7().toBytes());
+
+        // when trying to read a version 4 UUID from them
+        final Executable reading = () -> UuidV4.readFrom(buffer);
+
+        // then there should be an error
+        assertThrows(InvalidUuidVersionException.class, reading, "Version 7 bytes shouldn't be read as version 4");
+    }
 }
@@ -0,0 +1,119 @@
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.identity.uuid;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class UuidV7Test
+{
+    @Test
+    public void isVersion7()
+    {
+        // given a generated UUID
+        final var uuid = new UuidV7();
+
+        // when checking its version digit
+        final char versionDigit = uuid.toString().charAt(14);
+
+        // then it should be 7
+        assertEquals('7', versionDigit, "UUID should be version 7");
+        assertEquals(7, uuid.version(), "UUID should tell version 7");
+    }
+
+    @Test
+    public void isRfcVariant()
+    {
+        // given a generated UUID
+        final var uuid = new UuidV7();
+
+        // when checking its variant
+        final IUuid.Variant variant = uuid.variant();
+
+        // then it should be the RFC one
+        assertEquals(IUuid.Variant.RFC_VARIANT, variant, "UUID should be RFC variant");
+    }
+
+    @Test
+    public void holdsCreationTime()
+    {
+        // given the current time
+        final long before = System.currentTimeMillis();
+
+        // when generating a UUID
+        final var uuid = new UuidV7();
+
+        // then its timestamp should be the time it was made at
+        assertTrue(uuid.timestampMillis() >= before, "Timestamp shouldn't be before creation");
+        assertTrue(uuid.timestampMillis() <= System.currentTimeMillis() + 1, "Timestamp shouldn't be far after creation");
+    }
+
+    @Test
+    public void isOrderedByCreation()
+    {
+        // given a generated UUID
+        var previous = new UuidV7();
+
+        for (int index = 0; index < 100_000; index++)
+        {
+            // when generating more, faster than the clock ticks
+            final var next = new UuidV7();
+
+            // then each should sort after the previous one
+            assertTrue(
+                Long.compareUnsigned(next.mostSignificantBits(), previous.mostSignificantBits()) > 0,
+                "UUID " + next + " should come after " + previous
+            );
+            assertTrue(next.toString().compareTo(previous.toString()) > 0, "Strings should sort the same way");
+            previous = next;
+        }
+    }
+
+    @Test
+    public void isParsedBack()
+    {
+        // given a generated UUID
+        final var uuid = new UuidV7();
+
+        // when parsing its string
+        final var parsed = new UuidV7(uuid.toString());
+
+        // then it should be the same
+        assertTrue(parsed.equals(uuid), "UUID should be parsed back");
+        assertEquals(uuid.timestampMillis(), parsed.timestampMillis(), "Timestamp should be parsed back");
+    }
+
+    @Test
+    public void requiresVersion7()
+    {
+        // given a version 4 UUID
+        final String uuid = new UuidV4().toString();
+
+        // when trying to make a version 7 one of it
+        final Executable instantiation = () -> new UuidV7(uuid);
+
+        // then there should be an error
+        assertThrows(
+            InvalidUuidVersionException.class,
+            instantiation,
+            "Version 4 UUID shouldn't be read as version 7"
+        );
+    }
+
+    @Test
+    public void isReadBackFromBytes()
+    {
+        // given the binary form of a UUID
+        final var uuid = new UuidV7();
+        final byte[] bytes = uuid.toBytes();
+
+        // when reading it back
+        final var read = UuidV7.readFrom(ByteBuffer.wrap(bytes));
+
+        // then it should be the same
+        assertTrue(read.equals(uuid), "UUID should be read back from its bytes");
+        assertEquals(uuid.timestampMillis(), read.timestampMillis(), "Timestamp should be read back");
+    }
+}
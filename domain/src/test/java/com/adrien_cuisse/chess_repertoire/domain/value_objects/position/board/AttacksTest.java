@@ -0,0 +1,103 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class AttacksTest
+{
+	private static long squares(final int... squares)
+	{
+		long bitboard = 0;
+		for (final int square : squares)
+			bitboard |= 1L << square;
+		return bitboard;
+	}
+
+	@Test
+	public void knightDoesntWrapAroundTheBoard()
+	{
+		// given a knight on a1
+
+		// when checking its attacks
+		final long attacks = Attacks.knight(0);
+
+		// then it should only attack b3 and c2
+		assertEquals(squares(17, 10), attacks, "Knight on a1 should only attack b3 and c2");
+	}
+
+	@Test
+	public void kingAttacksAdjacentSquares()
+	{
+		// given a king on h8
+
+		// when checking its attacks
+		final long attacks = Attacks.king(63);
+
+		// then it should attack g8, g7 and h7
+		assertEquals(squares(62, 54, 55), attacks, "King on h8 should only attack g8, g7 and h7");
+	}
+
+	@Test
+	public void pawnsAttackForwardDiagonals()
+	{
+		// given pawns on e4
+
+		// when checking their attacks
+		final long whiteAttacks = Attacks.pawn(true, 28);
+		final long blackAttacks = Attacks.pawn(false, 28);
+
+		// then white should attack d5 and f5, and black d3 and f3
+		assertAll(
+			"Pawns should attack diagonally towards the opponent",
+			() -> assertEquals(squares(35, 37), whiteAttacks, "White pawn on e4 should attack d5 and f5"),
+			() -> assertEquals(squares(19, 21), blackAttacks, "Black pawn on e4 should attack d3 and f3")
+		);
+	}
+
+	@Test
+	public void rookStopsOnFirstBlocker()
+	{
+		// given a rook on d4, and pieces on d6 and b4
+		final long occupancy = squares(27, 43, 25);
+
+		// when checking its attacks
+		final long attacks = Attacks.rook(27, occupancy);
+
+		// then blockers should be attacked, but not the squares behind them
+		final long expected = squares(35, 43, 28, 29, 30, 31, 19, 11, 3, 26, 25);
+		assertEquals(expected, attacks, "Rook should stop on d6 and b4");
+	}
+
+	@Test
+	public void bishopStopsOnFirstBlocker()
+	{
+		// given a bishop on c1, and a piece on e3
+		final long occupancy = squares(2, 20);
+
+		// when checking its attacks
+		final long attacks = Attacks.bishop(2, occupancy);
+
+		// then the blocker should be attacked, but not the squares behind it
+		final long expected = squares(9, 16, 11, 20);
+		assertEquals(expected, attacks, "Bishop should stop on e3");
+	}
+
+	@Test
+	public void queenCombinesRookAndBishop()
+	{
+		// given a queen on an empty board
+		final int square = 35;
+
+		// when checking its attacks
+		final long attacks = Attacks.queen(square, 0);
+
+		// then they should be the union of rook and bishop ones
+		assertEquals(
+			Attacks.rook(square, 0) | Attacks.bishop(square, 0),
+			attacks,
+			"Queen should attack like a rook and a bishop"
+		);
+	}
+}
@@ -0,0 +1,403 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class BoardTest
+{
+	private static long[] kingsOnly()
+	{
+		final var bitboards = new long[12];
+		bitboards[Piece.WHITE_KING.ordinal()] = 1L << 4; // e1
+		bitboards[Piece.BLACK_KING.ordinal()] = 1L << 60; // e8
+		return bitboards;
+	}
+
+	@Test
+	public void requiresBitboards()
+	{
+		// given no bitboards
+		final long[] bitboards = null;
+
+		// when trying to make a board of it
+		final Executable instantiation = () -> new Board(bitboards, true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		// then there should be an error
+		assertThrows(
+			NullBitboardsException.class,
+			instantiation,
+			"Bitboards shouldn't be null"
+		);
+	}
+
+	@Test
+	public void requires12Bitboards()
+	{
+		// given a bitboard per piece kind, regardless of the color
+		final var bitboards = new long[6];
+
+		// when trying to make a board of it
+		final Executable instantiation = () -> new Board(bitboards, true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		// then there should be an error
+		assertThrows(
+			BitboardsCountException.class,
+			instantiation,
+			"Board should require a bitboard per piece"
+		);
+	}
+
+	@Test
+	public void requiresPiecesOnDistinctSquares()
+	{
+		// given a white pawn on the square of the white king
+		final long[] bitboards = kingsOnly();
+		bitboards[Piece.WHITE_PAWN.ordinal()] = 1L << 4;
+
+		// when trying to make a board of it
+		final Executable instantiation = () -> new Board(bitboards, true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		// then there should be an error
+		assertThrows(
+			OverlappingPiecesException.class,
+			instantiation,
+			"Board shouldn't allow several pieces on a same square"
+		);
+	}
+
+	public static Object[][] invalidStates()
+	{
+		return new Object[][] {
+			{ 0b1_0000, Board.NO_EN_PASSANT_SQUARE, 0, 1, "unknown castling right" },
+			{ 0, -2, 0, 1, "en-passant square before a1" },
+			{ 0, 64, 0, 1, "en-passant square after h8" },
+			{ 0, Board.NO_EN_PASSANT_SQUARE, -1, 1, "negative plies counter" },
+			{ 0, Board.NO_EN_PASSANT_SQUARE, Board.MAX_PLIES_COUNTER + 1, 1, "too big plies counter" },
+			{ 0, Board.NO_EN_PASSANT_SQUARE, 0, 0, "turns counter starting before 1" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("invalidStates")
+	public void requiresValidState(
+		final int castlingRights,
+		final int enPassantSquare,
+		final int pliesCounter,
+		final int turnsCounter,
+		final String reason
+	) {
+		// given an invalid game state
+
+		// when trying to make a board of it
+		final Executable instantiation = () -> new Board(
+			kingsOnly(),
+			true,
+			castlingRights,
+			enPassantSquare,
+			pliesCounter,
+			turnsCounter
+		);
+
+		// then there should be an error
+		assertThrows(
+			BoardStateException.class,
+			instantiation,
+			"Board shouldn't be created: " + reason
+		);
+	}
+
+	@Test
+	public void isNotAlteredByGivenBitboards()
+	{
+		// given a board made from some bitboards
+		final long[] bitboards = kingsOnly();
+		final var board = new Board(bitboards, true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		// when altering those bitboards afterwards
+		bitboards[Piece.WHITE_QUEEN.ordinal()] = 1L;
+
+		// then the board should remain unchanged
+		assertEquals(
+			0L,
+			board.bitboard(Piece.WHITE_QUEEN),
+			"Board should keep its own copy of the bitboards"
+		);
+	}
+
+	@Test
+	public void findsPieceOnSquare()
+	{
+		// given a board with only the kings
+		final var board = new Board(kingsOnly(), true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		// when checking the pieces on e8 and e4
+		final Optional<Piece> e8 = board.pieceAt(60);
+		final Optional<Piece> e4 = board.pieceAt(28);
+
+		// then there should be the black king, and nothing
+		assertEquals(Optional.of(Piece.BLACK_KING), e8, "Black king should be on e8");
+		assertEquals(Optional.empty(), e4, "There should be nothing on e4");
+	}
+
+	@Test
+	public void splitsOccupancyByColor()
+	{
+		// given a board with only the kings
+		final var board = new Board(kingsOnly(), true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		// when checking occupied squares
+		final long white = board.whiteOccupancy();
+		final long black = board.blackOccupancy();
+
+		// then there should be a square per color
+		assertAll(
+			"Occupancy should be split by color",
+			() -> assertEquals(1L << 4, white, "White should occupy e1"),
+			() -> assertEquals(1L << 60, black, "Black should occupy e8"),
+			() -> assertEquals(white | black, board.occupancy(), "Occupancy should be the union of both colors")
+		);
+	}
+
+	@Test
+	public void keepsPackedState()
+	{
+		// given a board with a non-default state
+		final int castlingRights = Board.WHITE_QUEEN_SIDE_CASTLING | Board.BLACK_KING_SIDE_CASTLING;
+		final var board = new Board(kingsOnly(), false, castlingRights, 20, 42, 1337);
+
+		// when reading this state back
+
+		// then it should be the same
+		assertAll(
+			"Board should keep the state it was given",
+			() -> assertFalse(board.whiteIsActive(), "Black should be active"),
+			() -> assertEquals(castlingRights, board.castlingRights(), "Castling rights should be kept"),
+			() -> assertEquals(20, board.enPassantSquare(), "En-passant square should be kept"),
+			() -> assertEquals(42, board.pliesCounter(), "Plies counter should be kept"),
+			() -> assertEquals(1337, board.turnsCounter(), "Turns counter should be kept")
+		);
+	}
+
+	@Test
+	public void hashIgnoresCounters()
+	{
+		// given 2 boards differing only by their counters
+		final var board = new Board(kingsOnly(), true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+		final var later = new Board(kingsOnly(), true, 0, Board.NO_EN_PASSANT_SQUARE, 12, 40);
+
+		// when comparing their hashes
+
+		// then they should be the same
+		assertEquals(
+			board.zobristKey(),
+			later.zobristKey(),
+			"Zobrist key shouldn't depend on counters"
+		);
+	}
+
+	@Test
+	public void hashDependsOnActivePlayer()
+	{
+		// given 2 boards differing only by their active player
+		final var whiteToPlay = new Board(kingsOnly(), true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+		final var blackToPlay = new Board(kingsOnly(), false, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		// when comparing their hashes
+
+		// then they should be different
+		assertNotEquals(
+			whiteToPlay.zobristKey(),
+			blackToPlay.zobristKey(),
+			"Zobrist key should depend on the active player"
+		);
+	}
+
+	@Test
+	public void hashCanBeUpdatedIncrementally()
+	{
+		// given a board, and the same board after the white king moved from e1 to d2 with castling lost
+		final long[] before = kingsOnly();
+		final long[] after = kingsOnly();
+		after[Piece.WHITE_KING.ordinal()] = 1L << 11;
+
+		final int castlingRights = Board.WHITE_KING_SIDE_CASTLING | Board.BLACK_KING_SIDE_CASTLING;
+		final var board = new Board(before, true, castlingRights, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+		final var moved = new Board(after, false, Board.BLACK_KING_SIDE_CASTLING, Board.NO_EN_PASSANT_SQUARE, 1, 1);
+
+		// when updating the hash of the first board with the differences
+		final long updatedKey = board.zobristKey()
+			^ ZobristKeys.ofPiece(Piece.WHITE_KING, 4)
+			^ ZobristKeys.ofPiece(Piece.WHITE_KING, 11)
+			^ ZobristKeys.ofCastlingRights(castlingRights)
+			^ ZobristKeys.ofCastlingRights(Board.BLACK_KING_SIDE_CASTLING)
+			^ ZobristKeys.ofBlackIsActive();
+
+		// then it should be the hash of the second board
+		assertEquals(
+			moved.zobristKey(),
+			updatedKey,
+			"Zobrist key should be the xor of its components"
+		);
+	}
+
+	public static Object[][] comparison()
+	{
+		final var board = new Board(kingsOnly(), true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1);
+
+		final long[] withQueen = kingsOnly();
+		withQueen[Piece.WHITE_QUEEN.ordinal()] = 1L << 3;
+
+		final var otherValueObject = new IValueObject() {
+			@Override public boolean equals(IValueObject other) { return false; }
+		};
+
+		return new Object[][] {
+			{ board, board, true, "Board should equal itself" },
+			{ board, new Board(kingsOnly(), true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1), true, "Board should equal if it has the same pieces and state" },
+			{ board, new Board(withQueen, true, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1), false, "Board shouldn't equal if pieces are different" },
+			{ board, new Board(kingsOnly(), false, 0, Board.NO_EN_PASSANT_SQUARE, 0, 1), false, "Board shouldn't equal if state is different" },
+			{ board, otherValueObject, false, "Board shouldn't equal when not given a board" }
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("comparison")
+	public void equalsSameBoard(
+		final Board board,
+		final IValueObject other,
+		final boolean expectedEquality,
+		final String errorMessage
+	) {
+		// given a board, and another value object to compare with
+
+		// when comparing them
+		final boolean areTheSame = board.equals(other);
+
+		// then it should be the expected equality
+		assertEquals(expectedEquality, areTheSame, errorMessage);
+	}
+
+	@Test
+	public void isColorFlipped()
+	{
+		// given a board
+		final Board board = new Fen("rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w Kq e6 0 2").board();
+
+		// when flipping its colors
+		final Board flipped = board.colorFlipped();
+
+		// then ranks, colors and state should be swapped
+		assertEquals(
+			"rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR b Qk e3 0 2",
+			Fen.of(flipped).toString(),
+			"Board should be seen from the other side"
+		);
+		assertTrue(flipped.colorFlipped().equals(board), "Flipping twice should give the board back");
+	}
+
+	@Test
+	public void isMirrored()
+	{
+		// given a board
+		final Board board = new Fen("4k3/8/8/8/8/8/1P6/4K2R w K - 0 1").board();
+
+		// when mirroring it
+		final Board mirrored = board.mirrored();
+
+		// then files should be swapped, without castling rights
+		assertEquals(
+			"3k4/8/8/8/8/8/6P1/R2K4 w - - 0 1",
+			Fen.of(mirrored).toString(),
+			"Board should be mirrored left to right"
+		);
+	}
+
+	public static Object[][] symmetricPositions()
+	{
+		return new Object[][] {
+			{ "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3" },
+			{ "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3" },
+			{ "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1" },
+			{ "rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("symmetricPositions")
+	public void sharesColorSymmetryKey(final String fen)
+	{
+		// given a board and the same with colors reversed
+		final Board board = new Fen(fen).board();
+		final Board flipped = board.colorFlipped();
+
+		// when comparing their symmetry keys
+
+		// then they should be the same
+		assertEquals(board.colorSymmetryKey(), flipped.colorSymmetryKey(), "Flipped boards should share their key");
+		assertNotEquals(board.colorSymmetryKey(), board.mirrored().colorSymmetryKey(), "Other boards shouldn't share it");
+	}
+
+	@ParameterizedTest
+	@MethodSource("symmetricPositions")
+	public void sharesMirrorSymmetryKey(final String fen)
+	{
+		// given a board and the same mirrored
+		final Board board = new Fen(fen).board();
+		final Board mirrored = board.mirrored();
+
+		// when comparing their symmetry keys
+
+		// then they should be the same
+		assertEquals(board.mirrorSymmetryKey(), mirrored.mirrorSymmetryKey(), "Mirrored boards should share their key");
+		assertNotEquals(board.mirrorSymmetryKey(), board.colorFlipped().mirrorSymmetryKey(), "Other boards shouldn't share it");
+	}
+
+	@ParameterizedTest
+	@MethodSource("symmetricPositions")
+	public void keysLikeTransformedBoards(final String fen)
+	{
+		// given a board
+		final Board board = new Fen(fen).board();
+
+		// when computing its symmetry keys
+		final long colorSymmetryKey = board.colorSymmetryKey();
+		final long mirrorSymmetryKey = board.mirrorSymmetryKey();
+
+		// then they should be the smallest position keys of the board and of its transformed one
+		assertEquals(
+			Math.min(board.positionKey(), board.colorFlipped().positionKey()),
+			colorSymmetryKey,
+			"Color symmetry key should be the smallest one of " + fen
+		);
+		assertEquals(
+			Math.min(board.mirrored().mirrored().positionKey(), board.mirrored().positionKey()),
+			mirrorSymmetryKey,
+			"Mirror symmetry key should be the smallest one of " + fen
+		);
+		assertEquals(colorSymmetryKey, board.colorSymmetryKey(), "Color symmetry key should be the same once cached");
+	}
+
+	@ParameterizedTest
+	@MethodSource("symmetricPositions")
+	public void hashesLikeSameBoard(final String fen)
+	{
+		// given a board, and the same one flipped back and forth
+		final Board board = new Fen(fen).board();
+		final Board sameBoard = board.colorFlipped().colorFlipped();
+
+		// when comparing them as plain objects
+
+		// then they should be equal, with the same hash
+		assertEquals((Object) board, sameBoard, "Boards should be equal: " + fen);
+		assertEquals(board.hashCode(), sameBoard.hashCode(), "Same boards should have the same hash: " + fen);
+	}
+}
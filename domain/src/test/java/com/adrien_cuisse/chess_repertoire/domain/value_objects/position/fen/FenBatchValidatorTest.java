@@ -0,0 +1,87 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class FenBatchValidatorTest
+{
+	/**
+	 * @return List<String> - valid fens with distinct counters, every third one being invalid
+	 */
+	private static List<String> inputs(final int count)
+	{
+		final var inputs = new ArrayList<String>(count);
+		for (int index = 0; index < count; index++)
+		{
+			inputs.add(index % 3 == 2
+				? "8/8/8/8/8/8/8/k6K w - - 0"
+				: "8/8/8/8/8/8/8/k6K w - - 0 " + (index + 1));
+		}
+		return inputs;
+	}
+
+	private static void assertInInputOrder(final List<String> inputs, final List<ParseResult<Fen>> results)
+	{
+		assertEquals(inputs.size(), results.size(), "There should be a result per input");
+
+		for (int index = 0; index < inputs.size(); index++)
+		{
+			final ParseResult<Fen> result = results.get(index);
+
+			if (index % 3 == 2)
+			{
+				assertFalse(result.isValid(), "Input " + index + " should be invalid");
+				assertTrue(result.failure().get().is(PartsCountException.class), "Input " + index + " misses a part");
+			}
+			else
+				assertEquals(inputs.get(index), result.value().get().toString(), "Result " + index + " should match its input");
+		}
+	}
+
+	@Test
+	public void keepsInputOrder()
+	{
+		// given a large batch of fens
+		final List<String> inputs = inputs(10_000);
+
+		// when validating them in parallel
+		final List<ParseResult<Fen>> results = new FenBatchValidator(new ForkJoinPool(4)).validate(inputs);
+
+		// then results should come in the same order
+		assertInInputOrder(inputs, results);
+	}
+
+	@Test
+	public void keepsStreamOrder()
+	{
+		// given a large stream of fens
+		final List<String> inputs = inputs(10_000);
+
+		// when validating it in parallel
+		final List<ParseResult<Fen>> results = new FenBatchValidator().validate(inputs.stream());
+
+		// then results should come in encounter order
+		assertInInputOrder(inputs, results);
+	}
+
+	@Test
+	public void reportsNullFens()
+	{
+		// given a batch with a null fen
+		final var inputs = new ArrayList<String>();
+		inputs.add(null);
+
+		// when validating it
+		final List<ParseResult<Fen>> results = new FenBatchValidator().validate(inputs);
+
+		// then it should be reported the same way as the constructor
+		assertTrue(results.get(0).failure().get().is(NullFenException.class), "Null fen should be reported");
+	}
+}
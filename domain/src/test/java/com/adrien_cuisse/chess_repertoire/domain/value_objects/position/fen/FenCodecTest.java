@@ -0,0 +1,242 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class FenCodecTest
+{
+	public static Object[][] positions()
+	{
+		return new Object[][] {
+			{ "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1" },
+			{ "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1" },
+			{ "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1" },
+			{ "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 1" },
+			{ "rnbqkbnr/pppp1ppp/8/8/3Pp3/8/PPP1PPPP/RNBQKBNR b Kq d3 0 1" },
+			{ "8/8/8/8/8/8/8/k6K b - - 0 1" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("positions")
+	public void isDecodedBack(final String position)
+	{
+		// given a fen
+		final var fen = new Fen(position);
+
+		// when encoding then decoding it
+		final byte[] bytes = FenCodec.encode(fen);
+		final Fen decoded = FenCodec.decode(bytes);
+
+		// then it should be the same position, in at most 25 bytes
+		assertEquals(position, decoded.toString(), "Fen should be decoded back");
+		assertTrue(bytes.length <= 25, "Fen of a reachable position should be encoded in 25 bytes at most");
+	}
+
+	@ParameterizedTest
+	@MethodSource("positions")
+	public void decodesCanonicalBytesOnly(final String position)
+	{
+		// given an encoded position, and all the same bytes with a single bit flipped
+		final byte[] encoded = FenCodec.encode(new Fen(position));
+
+		for (int bit = 0; bit < encoded.length * 8; bit++)
+		{
+			final byte[] bytes = encoded.clone();
+			bytes[bit >>> 3] ^= (byte) (1 << (bit & 7));
+
+			// when decoding them then encoding them back
+			final byte[] reencoded;
+			try
+			{
+				reencoded = FenCodec.encode(FenCodec.decode(bytes));
+			}
+			catch (final IllegalArgumentException exception)
+			{
+				continue;
+			}
+
+			// then accepted bytes should be encoded back to the same ones
+			assertArrayEquals(bytes, reencoded, "Bytes with bit " + bit + " flipped should be canonical for " + position);
+		}
+	}
+
+	@Test
+	public void encodesCrowdedBoards()
+	{
+		// given a fen of a board with more than 32 pieces, up to every square
+		final var fen = new Fen("kqqqqqqq/qqqqqqqq/qqqqqqqq/qqqqqqqq/QQQQQQQQ/QQQQQQQQ/QQQQQQQQ/QQQQQQQK w - - 0 1");
+
+		// when encoding then decoding it
+		final byte[] bytes = FenCodec.encode(fen);
+		final Fen decoded = FenCodec.decode(bytes);
+
+		// then it should take the longest length, and be the same position
+		assertEquals(FenCodec.MAX_LENGTH, bytes.length, "Full board should be encoded in the longest length");
+		assertEquals(fen.toString(), decoded.toString(), "Full board should be decoded back");
+	}
+
+	@Test
+	public void ignoresCounters()
+	{
+		// given a same position with different counters
+		final var fen = new Fen("8/8/8/8/8/8/8/k6K w - - 12 40");
+
+		// when encoding then decoding it
+		final Fen decoded = FenCodec.decode(FenCodec.encode(fen));
+
+		// then counters should be reset
+		assertEquals("8/8/8/8/8/8/8/k6K w - - 0 1", decoded.toString(), "Counters shouldn't be encoded");
+	}
+
+	@Test
+	public void dropsEnPassantSquaresWhichCantBeTaken()
+	{
+		// given positions differing only by an en-passant square no pawn can take
+		final var withSquare = new Fen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+		final var withoutSquare = new Fen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+
+		// when encoding them
+		final byte[] first = FenCodec.encode(withSquare);
+		final byte[] second = FenCodec.encode(withoutSquare);
+
+		// then they should share the same key
+		assertEquals(0, FenCodec.compare(first, second), "Untakeable en-passant square shouldn't change the key");
+	}
+
+	@Test
+	public void ordersDistinctPositions()
+	{
+		// given 2 distinct positions
+		final byte[] first = FenCodec.encode(new Fen("8/8/8/8/8/8/8/k6K w - - 0 1"));
+		final byte[] second = FenCodec.encode(new Fen("8/8/8/8/8/8/8/k6K b - - 0 1"));
+
+		// when comparing them both ways
+		final int order = FenCodec.compare(first, second);
+		final int reversedOrder = FenCodec.compare(second, first);
+
+		// then the order should be consistent
+		assertNotEquals(0, order, "Distinct positions should have distinct keys");
+		assertEquals(-Integer.signum(order), Integer.signum(reversedOrder), "Order should be antisymmetric");
+	}
+
+	@Test
+	public void requiresBytes()
+	{
+		// given no bytes
+		final byte[] bytes = null;
+
+		// when trying to decode them
+		final Executable decoding = () -> FenCodec.decode(bytes);
+
+		// then there should be an error
+		assertThrows(
+			NullEncodedFenException.class,
+			decoding,
+			"Null bytes shouldn't be decoded"
+		);
+	}
+
+	@Test
+	public void requiresANibblePerPiece()
+	{
+		// given an encoded position missing its last byte
+		final byte[] encoded = FenCodec.encode(new Fen("8/8/8/8/8/8/8/k6K w - - 0 1"));
+		final var truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+		// when trying to decode it
+		final Executable decoding = () -> FenCodec.decode(truncated);
+
+		// then there should be an error
+		assertThrows(
+			EncodedFenLengthException.class,
+			decoding,
+			"Truncated bytes shouldn't be decoded"
+		);
+	}
+
+	@Test
+	public void requiresKnownPieces()
+	{
+		// given an encoded position with an unknown piece code
+		final byte[] encoded = FenCodec.encode(new Fen("8/8/8/8/8/8/8/k6K w - - 0 1"));
+		encoded[encoded.length - 1] = (byte) 0xff;
+
+		// when trying to decode it
+		final Executable decoding = () -> FenCodec.decode(encoded);
+
+		// then there should be an error
+		assertThrows(
+			EncodedPieceException.class,
+			decoding,
+			"Unknown piece codes shouldn't be decoded"
+		);
+	}
+
+	@Test
+	public void requiresUnusedStateBitsUnset()
+	{
+		// given an encoded position with a high bit of its state byte set
+		final byte[] encoded = FenCodec.encode(new Fen("8/8/8/8/8/8/8/k6K w - - 0 1"));
+		encoded[8] |= (byte) 0b1000_0000;
+
+		// when trying to decode it
+		final Executable decoding = () -> FenCodec.decode(encoded);
+
+		// then there should be an error
+		assertThrows(
+			EncodedStateException.class,
+			decoding,
+			"Unused state bits should be unset"
+		);
+	}
+
+	@Test
+	public void requiresEmptyPadding()
+	{
+		// given an encoded position with an odd count of pieces, and something in its last nibble
+		final byte[] encoded = FenCodec.encode(new Fen("8/8/8/8/8/8/P7/k6K w - - 0 1"));
+		encoded[encoded.length - 1] |= 1;
+
+		// when trying to decode it
+		final Executable decoding = () -> FenCodec.decode(encoded);
+
+		// then there should be an error
+		assertThrows(
+			EncodedPaddingException.class,
+			decoding,
+			"Padding nibble should be empty"
+		);
+	}
+
+	@Test
+	public void requiresTakeableEnPassantPawns()
+	{
+		// given an encoded position whose pawn to take en-passant has no pawn next to it anymore
+		final var fen = new Fen("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 1");
+		final byte[] encoded = FenCodec.encode(fen);
+		final int e5 = 36;
+		final int nibble = Long.bitCount(fen.board().occupancy() & ((1L << e5) - 1));
+		final int shift = (nibble & 1) == 0 ? 4 : 0;
+		encoded[9 + (nibble >>> 1)] &= (byte) ~(0xf << shift);
+		encoded[9 + (nibble >>> 1)] |= (byte) (Piece.WHITE_KNIGHT.ordinal() << shift);
+
+		// when trying to decode it
+		final Executable decoding = () -> FenCodec.decode(encoded);
+
+		// then there should be an error
+		assertThrows(
+			EncodedPieceException.class,
+			decoding,
+			"Pawns which can't be taken en-passant shouldn't be encoded so"
+		);
+	}
+}
@@ -0,0 +1,151 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.ParseFailure;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class FenFileValidatorTest
+{
+	private static final class RecordingHandler implements FenFileValidator.IResultHandler
+	{
+		private final List<Long> validLines = new ArrayList<>();
+
+		private final List<Long> invalidLines = new ArrayList<>();
+
+		private final List<ParseFailure> failures = new ArrayList<>();
+
+		@Override
+		public void onValidLine(final long lineNumber)
+		{
+			this.validLines.add(lineNumber);
+		}
+
+		@Override
+		public void onInvalidLine(final long lineNumber, final ParseFailure failure)
+		{
+			this.invalidLines.add(lineNumber);
+			this.failures.add(failure);
+		}
+	}
+
+	@Test
+	public void reportsEachLineOfAFenFile() throws IOException
+	{
+		// given a file with valid and invalid fens, a blank line and windows line endings
+		final Path file = Files.createTempFile("fens", ".txt");
+		Files.writeString(file, String.join("\r\n",
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+			"8/8/8/8/8/8/8/k6K w - -",
+			"",
+			"8/8/8/8/8/8/8/k6K x - - 0 1",
+			"8/8/8/8/8/8/8/k6K b - - 3 42"
+		));
+		final var handler = new RecordingHandler();
+
+		try
+		{
+			// when validating it
+			new FenFileValidator(FenFileValidator.Format.FEN).validate(file, handler);
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+
+		// then each line should be reported with the same error as the Fen constructor
+		assertEquals(List.of(1L, 5L), handler.validLines, "Valid lines should be reported");
+		assertEquals(List.of(2L, 4L), handler.invalidLines, "Invalid lines should be reported");
+		assertTrue(handler.failures.get(0).is(PartsCountException.class), "Line 2 misses parts");
+		assertTrue(handler.failures.get(1).is(ActivePlayerException.class), "Line 4 has no active player");
+		assertEquals(
+			new ActivePlayerException("x").getMessage(),
+			handler.failures.get(1).message(),
+			"Failure should tell the faulty part"
+		);
+	}
+
+	@Test
+	public void ignoresEpdOperations()
+	{
+		// given EPD lines, with operations after the 4 parts of the position
+		final byte[] lines = (
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - bm e4; id \"start\";\n"
+			+ "8/8/8/8/8/8/8/k6K w - -\n"
+			+ "8/8/8/8/8/8/8/k6K w -\n"
+			+ "8/8/8/8/8/8/8/k6K w - e9 hmvc 0;\n"
+		).getBytes(StandardCharsets.US_ASCII);
+		final var handler = new RecordingHandler();
+
+		// when validating them
+		new FenFileValidator(FenFileValidator.Format.EPD).validate(ByteBuffer.wrap(lines), handler);
+
+		// then only the position should be checked
+		assertEquals(List.of(1L, 2L), handler.validLines, "Valid EPD lines should be reported");
+		assertEquals(List.of(3L, 4L), handler.invalidLines, "Invalid EPD lines should be reported");
+		assertTrue(handler.failures.get(0).is(PartsCountException.class), "Line 3 misses parts");
+		assertTrue(handler.failures.get(1).is(EnPassantSquareException.class), "Line 4 has a wrong square");
+	}
+
+	@Test
+	public void readsLinesAcrossChunks() throws IOException
+	{
+		// given a file bigger than a mapped chunk
+		final String fen = "8/8/8/8/8/8/8/k6K w - - 0 1";
+		final Path file = Files.createTempFile("fens", ".txt");
+		Files.writeString(file, (fen + "\n").repeat(100) + fen);
+		final var handler = new RecordingHandler();
+
+		try
+		{
+			// when validating it by small chunks
+			new FenFileValidator(FenFileValidator.Format.FEN, 100).validate(file, handler);
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+
+		// then no line should be cut
+		assertEquals(101, handler.validLines.size(), "Every line should be valid");
+		assertEquals(Long.valueOf(101), handler.validLines.get(100), "Lines should be numbered across chunks");
+		assertTrue(handler.invalidLines.isEmpty(), "No line should be cut between chunks");
+	}
+
+	@Test
+	public void forgetsPreviousLines()
+	{
+		// given a line with both kings, followed by one without any, then one with conflicting castling
+		final byte[] lines = (
+			"k7/8/8/8/8/8/8/7K w - - 0 1\n"
+			+ "8/8/8/8/8/8/8/8 w - - 0 1\n"
+			+ "k7/8/8/8/8/8/8/7K w KQ - 0 1\n"
+			+ "k7/8/8/8/8/8/8/7K b - - 0 1\n"
+		).getBytes(StandardCharsets.US_ASCII);
+		final var validator = new FenFileValidator(FenFileValidator.Format.FEN);
+		final var firstHandler = new RecordingHandler();
+		final var secondHandler = new RecordingHandler();
+
+		// when validating them twice with the same validator
+		validator.validate(ByteBuffer.wrap(lines), firstHandler);
+		validator.validate(ByteBuffer.wrap(lines), secondHandler);
+
+		// then each line should be checked on its own, numbered from the start each time
+		for (final var handler : List.of(firstHandler, secondHandler))
+		{
+			assertEquals(List.of(1L, 4L), handler.validLines, "Valid lines should be reported");
+			assertEquals(List.of(2L, 3L), handler.invalidLines, "Invalid lines should be reported");
+			assertTrue(handler.failures.get(0).is(MissingKingException.class), "Line 2 has no kings");
+			assertTrue(handler.failures.get(1).is(ConflictingCastlingException.class), "Line 3 can't castle");
+		}
+	}
+}
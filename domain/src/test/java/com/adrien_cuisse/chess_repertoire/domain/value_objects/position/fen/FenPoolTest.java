@@ -0,0 +1,84 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class FenPoolTest
+{
+	private static final String INITIAL_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	@Test
+	public void sharesInstances()
+	{
+		// given a pool
+		final var pool = new FenPool(16);
+
+		// when interning a same fen twice
+		final Fen first = pool.intern(INITIAL_POSITION);
+		final Fen second = pool.intern(INITIAL_POSITION);
+
+		// then the same instance should be given back
+		assertSame(first, second, "Pool should give back the validated fen");
+	}
+
+	@Test
+	public void sharesInstancesOfNormalizedInputs()
+	{
+		// given a pool holding a fen
+		final var pool = new FenPool(16);
+		final Fen pooled = pool.intern(INITIAL_POSITION);
+
+		// when interning the same fen with other whitespaces
+		final Fen other = pool.intern("  " + INITIAL_POSITION.replace(" ", "\t") + " ");
+
+		// then the same instance should be given back
+		assertSame(pooled, other, "Pool should share the instance of the normalized fen");
+	}
+
+	@Test
+	public void doesntPoolInvalidFens()
+	{
+		// given a pool
+		final var pool = new FenPool(16);
+
+		// when interning an invalid fen
+		final var result = pool.tryIntern("8/8/8/8/8/8/8/k6K w - - 0 0");
+
+		// then the failure should be reported
+		assertTrue(result.failure().get().is(TurnsCounterException.class), "Pool should report invalid fens");
+		assertThrows(TurnsCounterException.class, () -> pool.intern("8/8/8/8/8/8/8/k6K w - - 0 0"));
+	}
+
+	@Test
+	public void isBounded()
+	{
+		// given a pool with a capacity which isn't a power of 2
+		final var pool = new FenPool(5);
+
+		// when checking its capacity
+		final int capacity = pool.capacity();
+
+		// then it should be rounded up
+		assertEquals(8, capacity, "Capacity should be rounded up to a power of 2");
+	}
+
+	@Test
+	public void requiresCapacity()
+	{
+		// given no capacity
+		final int capacity = 0;
+
+		// when trying to make a pool of it
+		final Executable instantiation = () -> new FenPool(capacity);
+
+		// then there should be an error
+		assertThrows(
+			IllegalArgumentException.class,
+			instantiation,
+			"Pool should hold at least 1 fen"
+		);
+	}
+}
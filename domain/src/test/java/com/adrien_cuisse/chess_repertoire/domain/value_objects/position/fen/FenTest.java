@@ -2,11 +2,18 @@
 package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen;
 
 import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public final class FenTest
@@ -70,6 +77,7 @@ public final class FenTest
 			{ "k6K/8/8/8/8/8" + padding }, // 6 ranks
 			{ "k6K/8/8/8/8/8/8" + padding }, // 7 ranks
 			{ "k6K/8/8/8/8/8/8/8/8" + padding }, // 9 ranks
+			{ "k6K/8/8/8/8/8/8/8/" + padding }, // 8 ranks and a trailing slash
 		};
 	}
 
@@ -98,6 +106,7 @@ public final class FenTest
 			{ "08/8/8/8/8/8/8/6kK" + padding, "rank digits must be from 1 to 8" },
 			{ "8/a7/8/8/8/8/8/6kK" + padding, "'a' is not a valid piece" },
 			{ "8/8/11111111/8/8/8/8/6kK" + padding, "empty squares count should be a single digit" },
+			{ "8/8/p11p1111/8/8/8/8/6kK" + padding, "empty squares count should be a single digit" },
 		};
 	}
 
@@ -366,6 +375,8 @@ public final class FenTest
 			{ padding1 + "x" + padding2 }, // not a digit
 			{ padding1 + "-1" + padding2 }, // negative count
 			{ padding1 + "+1" + padding2 }, // useless '+' sign
+			{ padding1 + "65536" + padding2 }, // doesn't fit in the board
+			{ padding1 + "99999999999999999999" + padding2 }, // doesn't even fit in a long
 		};
 	}
 
@@ -396,6 +407,8 @@ public final class FenTest
 			{ padding + "+1" }, // useless '+' sign
 			{ padding + "x" }, // not a digit
 			{ padding + "0" }, // zero count
+			{ padding + "2147483648" }, // doesn't fit in the board
+			{ padding + "99999999999999999999" }, // doesn't even fit in a long
 		};
 	}
 
@@ -433,6 +446,145 @@ public final class FenTest
 		);
 	}
 
+	@Test
+	public void isTrimmedFromAnyWhitespace()
+	{
+		// given a fen with tabs and line breaks
+		final String trimmableFenString = "\trnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR\nw\r\nKQkq \t- 0\t1\n";
+
+		// when making an instance of it
+		final var fen = new Fen(trimmableFenString);
+
+		// then parts should be delimited by single spaces
+		assertEquals(
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+			fen.toString(),
+			"Fen parts should be delimited by a single space"
+		);
+	}
+
+	@Test
+	public void reportsPartsCountBeforeInvalidRank()
+	{
+		// given a fen with both an invalid rank and a missing part
+		final String invalidFen = "8/a7/8/8/8/8/8/k6K w - - 0";
+
+		// when trying to make an instance of it
+		final Executable instantiation = () -> new Fen(invalidFen);
+
+		// then the parts count should be reported first
+		assertThrows(
+			PartsCountException.class,
+			instantiation,
+			"Fen parts count should be checked before the content of the parts"
+		);
+	}
+
+	@Test
+	public void buildsBoard()
+	{
+		// given a fen after 1. e4
+		final var fen = new Fen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+
+		// when checking its board
+		final Board board = fen.board();
+
+		// then it should match the fen
+		assertAll(
+			"Board should be built from the fen",
+			() -> assertEquals(0x0000_0000_1000_ef00L, board.bitboard(Piece.WHITE_PAWN), "White pawns should be on rank 2 and e4"),
+			() -> assertEquals(0x00ff_0000_0000_0000L, board.bitboard(Piece.BLACK_PAWN), "Black pawns should be on rank 7"),
+			() -> assertEquals(1L << 60, board.bitboard(Piece.BLACK_KING), "Black king should be on e8"),
+			() -> assertFalse(board.whiteIsActive(), "Black should be active"),
+			() -> assertEquals(0b1111, board.castlingRights(), "All castling rights should be kept"),
+			() -> assertEquals(20, board.enPassantSquare(), "En-passant square should be e3"),
+			() -> assertEquals(0, board.pliesCounter(), "Plies counter should be 0"),
+			() -> assertEquals(1, board.turnsCounter(), "Turns counter should be 1")
+		);
+	}
+
+	@Test
+	public void isWrittenBackFromBoard()
+	{
+		// given the board of a fen
+		final String fen = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b Kq e3 3 42";
+		final Board board = new Fen(fen).board();
+
+		// when writing a fen of it
+		final Fen written = Fen.of(board);
+
+		// then it should be the original fen
+		assertEquals(fen, written.toString(), "Fen should be written back from its board");
+	}
+
+	@Test
+	public void hasSameHashForSamePosition()
+	{
+		// given 2 fens of the same position, later in the game
+		final var fen = new Fen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3");
+		final var later = new Fen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 6 5");
+
+		// when comparing their hashes
+
+		// then they should be the same
+		assertEquals(
+			fen.zobristKey(),
+			later.zobristKey(),
+			"Zobrist key should only depend on the position, not on counters"
+		);
+	}
+
+	public static Object[][] transpositions()
+	{
+		return new Object[][] {
+			{
+				"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3",
+				"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 6 5",
+				"counters differ"
+			},
+			{
+				"rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2",
+				"rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2",
+				"no pawn can take en-passant"
+			},
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("transpositions")
+	public void hasSamePositionKeyForTranspositions(final String fen, final String transposition, final String reason)
+	{
+		// given 2 fens of the same position
+
+		// when comparing their position keys
+		final long fenKey = new Fen(fen).positionKey();
+		final long transpositionKey = new Fen(transposition).positionKey();
+
+		// then they should be the same
+		assertEquals(
+			fenKey,
+			transpositionKey,
+			"Position key should be the same when " + reason
+		);
+	}
+
+	@Test
+	public void keepsTakeableEnPassantSquareInPositionKey()
+	{
+		// given a fen where white can take en-passant, and the same position without en-passant square
+		final var takeable = new Fen("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+		final var notTakeable = new Fen("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3");
+
+		// when comparing their position keys
+
+		// then they should be different
+		assertNotEquals(
+			takeable.positionKey(),
+			notTakeable.positionKey(),
+			"Position key should keep en-passant square when it can be taken"
+		);
+	}
+
 	public static Object[][] comparison()
 	{
 		final String fenString = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
@@ -469,4 +621,146 @@ public final class FenTest
 		// then it should be the expected equality
 		assertEquals(expectedEquality, areTheSame, errorMessage);
 	}
+
+	public static Object[][] positionFens()
+	{
+		return new Object[][] {
+			{ "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 12 40", "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq -" },
+			{ "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3", "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6" },
+			{ "8/8/8/8/8/8/8/k6K b - - 0 1", "8/8/8/8/8/8/8/k6K b - -" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("positionFens")
+	public void writesPositionFen(final String input, final String expectedPositionFen)
+	{
+		// given a fen
+		final var fen = new Fen(input);
+
+		// when writing the position it describes
+		final String positionFen = fen.positionFen();
+
+		// then counters and en-passant squares which can't be taken should be dropped
+		assertEquals(expectedPositionFen, positionFen, "Position fen should only keep what the position key stands for");
+	}
+
+	public static Object[][] asciiInputs()
+	{
+		final var inputs = new ArrayList<Object[]>();
+		inputs.add(new Object[] { "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1" });
+		inputs.add(new Object[] { "  r3k2r/8/8/8/8/8/8/R3K2R\tb Kq - 3  12 " });
+		for (final Object[][] source : new Object[][][] {
+			invalidPartsCount(),
+			invalidRankFens(),
+			invalidActivePlayers(),
+			invalidCastlingPossibilities(),
+			conflictingCastlingPossibilities(),
+			invalidEnPassantSquares(),
+			invalidTurnsCounters()
+		})
+		{
+			for (final Object[] arguments : source)
+				inputs.add(new Object[] { arguments[0] });
+		}
+		return inputs.toArray(new Object[0][]);
+	}
+
+	@ParameterizedTest
+	@MethodSource("asciiInputs")
+	public void isParsedFromAsciiBytesLikeFromString(final String input)
+	{
+		// given a fen as ASCII bytes, within a larger buffer
+		final byte[] bytes = ("garbage" + input + "garbage").getBytes(StandardCharsets.US_ASCII);
+
+		// when parsing both the bytes and the string
+		final Executable fromString = () -> new Fen(input);
+		final Executable fromBytes = () -> Fen.fromAscii(bytes, 7, input.length());
+
+		// then outcomes should be the same
+		final Throwable stringFailure = failureOf(fromString);
+		final Throwable bytesFailure = failureOf(fromBytes);
+		if (stringFailure == null)
+		{
+			assertNull(bytesFailure, "Bytes should be valid as the string is: " + input);
+			assertEquals(
+				new Fen(input).toString(),
+				Fen.fromAscii(ByteBuffer.wrap(bytes, 7, input.length())).toString(),
+				"Bytes should make the same fen as the string"
+			);
+		}
+		else
+		{
+			assertNotNull(bytesFailure, "Bytes should be invalid as the string is: " + input);
+			assertEquals(stringFailure.getClass(), bytesFailure.getClass(), "Failure should be the same for " + input);
+			assertEquals(stringFailure.getMessage(), bytesFailure.getMessage(), "Failure should tell the same reason");
+		}
+	}
+
+	@Test
+	public void requiresAsciiBytes()
+	{
+		// given no bytes
+		final byte[] bytes = null;
+
+		// when trying to make a fen of them
+		final Executable instantiation = () -> Fen.fromAscii(bytes, 0, 0);
+
+		// then there should be an error
+		assertThrows(
+			NullFenException.class,
+			instantiation,
+			"Fen shouldn't be made of null bytes"
+		);
+	}
+
+	private static Throwable failureOf(final Executable executable)
+	{
+		try
+		{
+			executable.execute();
+			return null;
+		}
+		catch (final Throwable failure)
+		{
+			return failure;
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("asciiInputs")
+	public void isParsedWithoutThrowingLikeConstructor(final String input)
+	{
+		// given a fen
+
+		// when parsing it without throwing
+		final var result = Fen.tryParse(input);
+
+		// then it should give the constructor's fen, or describe its failure
+		final Throwable constructorFailure = failureOf(() -> new Fen(input));
+		if (constructorFailure == null)
+			assertEquals(new Fen(input).toString(), result.value().get().toString(), "Fen should be parsed: " + input);
+		else
+		{
+			assertFalse(result.isValid(), "Fen should be invalid: " + input);
+			assertEquals(constructorFailure.getClass(), result.failure().get().type(), "Failure should be the same for " + input);
+			assertEquals(constructorFailure.getMessage(), result.failure().get().message(), "Failure should tell the same reason");
+		}
+	}
+
+	@Test
+	public void isUsableAsMapKey()
+	{
+		// given 2 instances of a same fen
+		final var fen = new Fen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+		final var sameFen = new Fen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+
+		// when using one as key, and looking up with the other
+		final var map = new HashMap<Fen, String>();
+		map.put(fen, "King's pawn");
+
+		// then the entry should be found
+		assertEquals(fen.hashCode(), sameFen.hashCode(), "Same fens should have the same hash");
+		assertEquals("King's pawn", map.get(sameFen), "Same fens should match as map keys");
+	}
 }
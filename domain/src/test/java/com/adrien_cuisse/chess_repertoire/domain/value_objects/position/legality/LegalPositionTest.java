@@ -0,0 +1,150 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.legality;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.IValueObject;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.NullFenException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class LegalPositionTest
+{
+	@Test
+	public void isNotNull()
+	{
+		// given a null fen
+		final Fen nullFen = null;
+
+		// when trying to make a legal position of it
+		final Executable instantiation = () -> new LegalPosition(nullFen);
+
+		// then there should be an error
+		assertThrows(
+			NullFenException.class,
+			instantiation,
+			"Legal position shouldn't be made of a null fen"
+		);
+	}
+
+	public static Object[][] illegalPositions()
+	{
+		return new Object[][] {
+			{ "4k3/8/8/8/8/8/8/3KK3 w - - 0 1", KingsCountException.class, "white has 2 kings" },
+			{ "3kk3/8/8/8/8/8/8/4K3 w - - 0 1", KingsCountException.class, "black has 2 kings" },
+			{ "4k3/8/8/8/8/P7/PPPPPPPP/4K3 w - - 0 1", PawnsCountException.class, "white has 9 pawns" },
+			{ "4k3/pppppppp/p7/8/8/8/8/4K3 w - - 0 1", PawnsCountException.class, "black has 9 pawns" },
+			{ "4k3/8/8/8/8/8/PPPPPPPP/QQ2K3 w - - 0 1", PromotedPiecesException.class, "white has 2 queens but all its pawns" },
+			{ "nnnnk3/ppppppp1/8/8/8/8/8/4K3 w - - 0 1", PromotedPiecesException.class, "black has 4 knights but 7 pawns" },
+			{ "P3k3/8/8/8/8/8/8/4K3 w - - 0 1", PawnOnBackRankException.class, "white pawn on rank 8" },
+			{ "4k3/8/8/8/8/8/8/p3K3 w - - 0 1", PawnOnBackRankException.class, "black pawn on rank 1" },
+			{ "4k3/8/8/8/8/8/8/4R1K1 w - - 0 1", InactivePlayerInCheckException.class, "black is checked by a rook while white is to play" },
+			{ "4k3/8/8/8/B7/8/8/6K1 w - - 0 1", InactivePlayerInCheckException.class, "black is checked by a bishop while white is to play" },
+			{ "4k3/8/3N4/8/8/8/8/6K1 w - - 0 1", InactivePlayerInCheckException.class, "black is checked by a knight while white is to play" },
+			{ "4k3/8/8/8/8/8/5p2/4K3 b - - 0 1", InactivePlayerInCheckException.class, "white is checked by a pawn while black is to play" },
+			{ "8/8/8/8/8/8/8/4Kk2 w - - 0 1", InactivePlayerInCheckException.class, "kings are touching" },
+			{ "4k3/8/8/8/8/8/8/4K3 w - e6 0 1", ImpossibleEnPassantException.class, "no pawn in front of the en-passant square" },
+			{ "4k3/8/8/4p3/8/8/8/4K3 w - e3 0 1", ImpossibleEnPassantException.class, "en-passant square on the rank of the active player" },
+			{ "4k3/4p3/8/4p3/8/8/8/4K3 w - e6 0 1", ImpossibleEnPassantException.class, "pawn can't have come from an occupied square" },
+			{ "4k3/8/8/4P3/8/8/8/4K3 w - e6 0 1", ImpossibleEnPassantException.class, "pawn in front of the en-passant square isn't the opponent's" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("illegalPositions")
+	public void requiresLegalPosition(
+		final String illegalFen,
+		final Class<? extends IllegalArgumentException> expectedException,
+		final String reason
+	) {
+		// given a well-formed fen of a position which can't be reached
+		final var fen = new Fen(illegalFen);
+
+		// when trying to make a legal position of it
+		final Executable instantiation = () -> new LegalPosition(fen);
+
+		// then there should be an error
+		assertThrows(
+			expectedException,
+			instantiation,
+			"Position should be illegal: " + reason
+		);
+	}
+
+	public static Object[][] legalPositions()
+	{
+		return new Object[][] {
+			{ "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", "standard starting position" },
+			{ "rnbqkbnr/pppp1ppp/8/8/4pP2/8/PPPPP1PP/RNBQKBNR b KQkq f3 0 3", "en-passant square behind a double-pushed pawn" },
+			{ "4k3/8/8/8/8/8/8/4R1K1 b - - 0 1", "active player in check" },
+			{ "1Q2k3/8/8/8/8/8/1PPPPPPP/Q3K3 b - - 0 1", "2 queens after a promotion" },
+			{ "4k3/8/8/8/8/8/4P3/4R1K1 w - - 0 1", "check blocked by an own piece" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("legalPositions")
+	public void acceptsLegalPosition(final String legalFen, final String description)
+	{
+		// given a fen of a position which can be reached
+		final var fen = new Fen(legalFen);
+
+		// when checking if it's legal
+		final boolean isLegal = LegalPosition.isLegal(fen.board());
+
+		// then it should be
+		assertTrue(isLegal, "Position should be legal: " + description);
+	}
+
+	public static Object[][] comparison()
+	{
+		final var position = new LegalPosition(new Fen("4k3/8/8/8/8/8/8/4K3 w - - 0 1"));
+
+		final var otherValueObject = new IValueObject() {
+			@Override public boolean equals(IValueObject other) { return false; }
+		};
+
+		return new Object[][] {
+			{ position, position, true, "Legal position should equal itself" },
+			{ position, new LegalPosition(new Fen("4k3/8/8/8/8/8/8/4K3 w - - 0 1")), true, "Legal position should equal if it has the same fen" },
+			{ position, new LegalPosition(new Fen("4k3/8/8/8/8/8/8/3K4 w - - 0 1")), false, "Legal position shouldn't equal if it has another fen" },
+			{ position, otherValueObject, false, "Legal position shouldn't equal when not given a legal position" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("comparison")
+	public void equalsSamePosition(
+		final LegalPosition position,
+		final IValueObject other,
+		final boolean expectedEquality,
+		final String errorMessage
+	) {
+		// given a legal position, and another value object to compare with
+
+		// when comparing them
+		final boolean areTheSame = position.equals(other);
+
+		// then it should be the expected equality
+		assertEquals(expectedEquality, areTheSame, errorMessage);
+	}
+
+	@Test
+	public void isUsableAsSetElement()
+	{
+		// given a set of legal positions
+		final var positions = new HashSet<LegalPosition>();
+		positions.add(new LegalPosition(new Fen("4k3/8/8/8/8/8/8/4K3 w - - 0 1")));
+
+		// when checking for another instance of a same position
+		final boolean isKnown = positions.contains(new LegalPosition(new Fen("4k3/8/8/8/8/8/8/4K3 w - - 0 1")));
+
+		// then it should be found
+		assertTrue(isKnown, "Same legal position should be found in the set");
+	}
+}
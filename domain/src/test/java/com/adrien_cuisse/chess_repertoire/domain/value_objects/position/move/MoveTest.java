@@ -0,0 +1,72 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Piece;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class MoveTest
+{
+	@Test
+	public void fitsIn16Bits()
+	{
+		// given the move with the highest squares and flags
+		final int move = Move.of(63, 63, Move.QUEEN_PROMOTION | Move.CAPTURE);
+
+		// when checking its size
+
+		// then it should fit in a short
+		assertEquals(0, move >>> 16, "Move should fit in 16 bits");
+	}
+
+	@Test
+	public void unpacksItsParts()
+	{
+		// given a pawn taking on b8 from a7 and promoting to a knight
+		final int move = Move.of(48, 57, Move.KNIGHT_PROMOTION | Move.CAPTURE);
+
+		// when reading its parts
+
+		// then they should be the packed ones
+		assertAll(
+			"Move should give back what it was made of",
+			() -> assertEquals(48, Move.from(move), "Move should start from a7"),
+			() -> assertEquals(57, Move.to(move), "Move should end on b8"),
+			() -> assertTrue(Move.isCapture(move), "Move should be a capture"),
+			() -> assertTrue(Move.isPromotion(move), "Move should be a promotion"),
+			() -> assertEquals(Piece.BLACK_KNIGHT, Move.promotedPiece(move, false), "Pawn should turn into a knight"),
+			() -> assertEquals("a7b8n", Move.toString(move), "Move should be written in UCI notation")
+		);
+	}
+
+	@Test
+	public void playsCastling()
+	{
+		// given a position where white can castle king side
+		final Board board = new Fen("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 3 10").board();
+
+		// when castling
+		final Board castled = Move.play(board, Move.of(4, 6, Move.KING_SIDE_CASTLING));
+
+		// then the rook should have jumped over the king, and white castling rights should be lost
+		final Board expected = new Fen("r3k2r/8/8/8/8/8/8/R4RK1 b kq - 4 10").board();
+		assertTrue(castled.equals(expected), "King should land on g1 and rook on f1");
+	}
+
+	@Test
+	public void playsEnPassantCapture()
+	{
+		// given a position where white can take en-passant on d6
+		final Board board = new Fen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2").board();
+
+		// when taking en-passant
+		final Board played = Move.play(board, Move.of(36, 43, Move.EN_PASSANT_CAPTURE));
+
+		// then the black pawn should be removed, and the plies counter reset
+		final Board expected = new Fen("4k3/8/3P4/8/8/8/8/4K3 b - - 0 2").board();
+		assertTrue(played.equals(expected), "Pawn on d5 should be taken");
+	}
+}
@@ -0,0 +1,134 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.board.Board;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.NullFenException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class MutablePositionTest
+{
+	private static final String INITIAL_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	public static Object[][] positions()
+	{
+		return new Object[][] {
+			{ INITIAL_POSITION },
+			{ "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1" },
+			{ "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1" },
+			{ "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1" },
+			{ "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8" },
+		};
+	}
+
+	@Test
+	public void requiresFen()
+	{
+		// given no fen
+		final Fen fen = null;
+
+		// when trying to make a position of it
+		final Executable instantiation = () -> new MutablePosition(fen);
+
+		// then there should be an error
+		assertThrows(
+			NullFenException.class,
+			instantiation,
+			"Position shouldn't be made of a null fen"
+		);
+	}
+
+	@Test
+	public void exportsFen()
+	{
+		// given the initial position
+		final var position = new MutablePosition(new Fen(INITIAL_POSITION));
+
+		// when pushing the e pawn by 2 squares
+		position.makeMove(Move.of(12, 28, Move.DOUBLE_PAWN_PUSH));
+
+		// then the fen should have black to play with an en-passant square
+		assertEquals(
+			"rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+			position.toFen().toString(),
+			"Fen should describe the position after the move"
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("positions")
+	public void unmakesEveryMove(final String fen)
+	{
+		// given a position
+		final Board board = new Fen(fen).board();
+		final var position = new MutablePosition(board);
+		final var moves = new MoveList();
+		MoveGenerator.generateLegalMoves(position, moves);
+
+		for (int index = 0; index < moves.size(); index++)
+		{
+			final int move = moves.get(index);
+
+			// when making a move, then unmaking it
+			position.makeMove(move);
+			position.unmakeMove();
+
+			// then the position should be back to its initial state
+			assertTrue(
+				position.toBoard().equals(board),
+				"Position should be restored after unmaking " + Move.toString(move) + " in " + fen
+			);
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("positions")
+	public void updatesZobristKeyIncrementally(final String fen)
+	{
+		// given a position
+		final var position = new MutablePosition(new Fen(fen));
+		final var moves = new MoveList();
+		final var random = new Random(42);
+
+		for (int ply = 0; ply < 100; ply++)
+		{
+			MoveGenerator.generateLegalMoves(position, moves);
+			if (moves.size() == 0)
+				break;
+
+			// when playing random moves
+			position.makeMove(moves.get(random.nextInt(moves.size())));
+
+			// then the key should be the one of the same board made from scratch
+			assertEquals(
+				position.toBoard().zobristKey(),
+				position.zobristKey(),
+				"Zobrist key should be updated along with the pieces, from " + fen
+			);
+		}
+	}
+
+	@Test
+	public void requiresAMoveToUnmake()
+	{
+		// given a position no move was made on
+		final var position = new MutablePosition(new Fen(INITIAL_POSITION));
+
+		// when trying to unmake a move
+		final Executable unmaking = position::unmakeMove;
+
+		// then there should be an error
+		assertThrows(
+			IllegalStateException.class,
+			unmaking,
+			"Position shouldn't unmake a move which wasn't made"
+		);
+	}
+}
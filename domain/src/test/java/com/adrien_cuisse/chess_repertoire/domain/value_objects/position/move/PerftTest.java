@@ -0,0 +1,68 @@
+
+package com.adrien_cuisse.chess_repertoire.domain.value_objects.position.move;
+
+import com.adrien_cuisse.chess_repertoire.domain.value_objects.position.fen.Fen;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class PerftTest
+{
+	/**
+	 * Reference positions, each testing tricky rules, with their known leaves count
+	 */
+	public static Object[][] referencePositions()
+	{
+		return new Object[][] {
+			{ "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 4, 197_281L, "initial position" },
+			{ "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 3, 97_862L, "kiwipete, castling and pins" },
+			{ "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 4, 43_238L, "en-passant discovering a check" },
+			{ "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 3, 9_467L, "promotions and checks" },
+			{ "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 3, 62_379L, "promotions taking pieces" },
+			{ "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 3, 89_890L, "symmetrical middle game" },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("referencePositions")
+	public void countsReferenceNodes(
+		final String fen,
+		final int depth,
+		final long expectedNodes,
+		final String description
+	) {
+		// given a reference position
+		final var board = new Fen(fen).board();
+
+		// when counting the nodes up to the reference depth
+		final long nodes = new Perft(depth).run(board, depth);
+
+		// then it should be the reference count
+		assertEquals(expectedNodes, nodes, "Perft should match the reference count: " + description);
+	}
+
+	public static Object[][] backRankPawns()
+	{
+		return new Object[][] {
+			{ "P3k3/8/8/8/8/8/8/4K2p w - - 0 1", 5L },
+			{ "P3k3/8/8/8/8/8/8/4K2p b - - 0 1", 5L },
+			{ "p3k3/8/8/8/8/8/8/4K2P w - - 0 1", 5L },
+			{ "p3k3/8/8/8/8/8/8/4K2P b - - 0 1", 5L },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("backRankPawns")
+	public void doesntMoveBackRankPawns(final String fen, final long expectedMoves)
+	{
+		// given a position with pawns on the first or last rank, which fens allow
+		final var board = new Fen(fen).board();
+
+		// when counting the legal moves
+		final long moves = new Perft(1).run(board, 1);
+
+		// then only the kings should move
+		assertEquals(expectedMoves, moves, "Back rank pawns shouldn't move: " + fen);
+	}
+}
@@ -7,8 +7,12 @@ import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.HashMap;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public final class PositionNameTest
 {
@@ -95,4 +99,57 @@ public final class PositionNameTest
 		// then it should be the expected equality
 		assertEquals(expectedEquality, areTheSame, errorMessage);
 	}
+
+	public static Object[][] invalidNames()
+	{
+		return new Object[][] {
+			{ null, NullPositionNameException.class },
+			{ "  ", EmptyPositionNameException.class },
+		};
+	}
+
+	@ParameterizedTest
+	@MethodSource("invalidNames")
+	public void reportsFailureWithoutThrowing(final String invalidName, final Class<? extends IllegalArgumentException> expectedFailure)
+	{
+		// given an invalid position name
+
+		// when parsing it without throwing
+		final var result = PositionName.tryParse(invalidName);
+
+		// then the failure should be the one the constructor would throw
+		assertFalse(result.isValid(), "Position name should be invalid");
+		assertTrue(result.failure().get().is(expectedFailure), "Position name should fail with " + expectedFailure.getSimpleName());
+		assertThrows(expectedFailure, result::orElseThrow, "Failure should be thrown when asked");
+	}
+
+	@Test
+	public void isParsedWithoutThrowing()
+	{
+		// given a valid position name
+		final String validName = " Sicilian   defense ";
+
+		// when parsing it without throwing
+		final var result = PositionName.tryParse(validName);
+
+		// then it should be the same as the constructor's one
+		assertTrue(result.isValid(), "Position name should be valid");
+		assertEquals(new PositionName(validName).toString(), result.value().get().toString(), "Position name should be parsed");
+	}
+
+	@Test
+	public void isUsableAsMapKey()
+	{
+		// given a position name, and the same one differently spaced
+		final var name = new PositionName("Sicilian defense");
+		final var sameName = new PositionName(" Sicilian   defense ");
+
+		// when using one as key, and looking up with the other
+		final var map = new HashMap<PositionName, Integer>();
+		map.put(name, 42);
+
+		// then the entry should be found
+		assertEquals(name.hashCode(), sameName.hashCode(), "Same names should have the same hash");
+		assertEquals(Integer.valueOf(42), map.get(sameName), "Same names should match as map keys");
+	}
 }